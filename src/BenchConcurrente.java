@@ -0,0 +1,388 @@
+package src.edd;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase de pruebas de rendimiento de las estructuras para varios hilos.
+ * Para ejecutar: java src.edd.BenchConcurrente [hilos] [milisegundos]
+ */
+public class BenchConcurrente {
+
+    /**
+     * Llave de prueba para los monticulos
+     */
+    private static class Llave implements ComparableIndexable<Llave>{
+        private long valor;
+        private int indice;
+
+        public Llave(long valor){
+            this.valor = valor;
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Llave otra){
+            return Long.compare(valor, otra.valor);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE LLAVE
+
+    /**
+     * Interfaz para las colas de prioridades que se comparan
+     */
+    private interface ColaPrioridad {
+        public void add(Llave llave);
+        public Llave poll();
+    }//FIN DE INTERFAZ COLAPRIORIDAD
+
+    /**
+     * Monticulo minimo protegido por un solo candado
+     */
+    private static class MonticuloConCandado implements ColaPrioridad {
+        private final ReentrantLock candado = new ReentrantLock();
+        private final MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>();
+
+        @Override public void add(Llave llave){
+            candado.lock();
+            try{
+                monticulo.add(llave);
+            }
+            finally{
+                candado.unlock();
+            }
+        }
+
+        @Override public Llave poll(){
+            candado.lock();
+            try{
+                return monticulo.isEmpty() ? null : monticulo.delete();
+            }
+            finally{
+                candado.unlock();
+            }
+        }
+    }//FIN DE CLASE MONTICULOCONCANDADO
+
+    /**
+     * Interfaz para las colas FIFO que se comparan
+     */
+    private interface ColaFifo {
+        public void push(Object elemento);
+        public Object poll();
+    }//FIN DE INTERFAZ COLAFIFO
+
+    /**
+     * Cola protegida por un solo candado
+     */
+    private static class ColaConCandado implements ColaFifo {
+        private final ReentrantLock candado = new ReentrantLock();
+        private final Cola<Object> cola = new Cola<Object>();
+
+        @Override public void push(Object elemento){
+            candado.lock();
+            try{
+                cola.push(elemento);
+            }
+            finally{
+                candado.unlock();
+            }
+        }
+
+        @Override public Object poll(){
+            candado.lock();
+            try{
+                return cola.isEmpty() ? null : cola.pop();
+            }
+            finally{
+                candado.unlock();
+            }
+        }
+    }//FIN DE CLASE COLACONCANDADO
+
+    /* Llaves iniciales que mete cada hilo */
+    private static final int LLAVES_POR_HILO = 10_000;
+    /* Elementos que pasan por las colas FIFO en cada medicion */
+    private static final int TRANSFERENCIAS = 2_000_000;
+    /* Elementos que pasan entre un solo productor y un solo consumidor */
+    private static final int TRANSFERENCIAS_PAR = 10_000_000;
+    /* Elementos que se mueven juntos con pushAll y drainTo */
+    private static final int LOTE = 256;
+    /* Capacidad de la cola acotada */
+    private static final int CAPACIDAD_ACOTADA = 1024;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maximo = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long duracion = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        //Calentamiento para que el JIT compile ambas colas antes de medir
+        mide(new MonticuloConCandado(), 1, duracion);
+        mide(nuevaMultiQueue(), 1, duracion);
+
+        System.out.println("Colas de prioridades, millones de operaciones por segundo");
+        System.out.println("hilos\tcandado global\tMonticuloConcurrente");
+        for (int hilos = 1; ; hilos = Math.min(hilos * 2, maximo)) {
+            double global = mide(new MonticuloConCandado(), hilos, duracion);
+            double relajada = mide(nuevaMultiQueue(), hilos, duracion);
+            System.out.printf("%d\t%.2f\t\t%.2f%n", hilos, global, relajada);
+            if (hilos >= maximo) {
+                break;
+            }
+        }
+
+        mideFifo(new ColaConCandado(), 1);
+        mideFifo(nuevaColaConcurrente(), 1);
+        System.out.println();
+        System.out.println("Colas FIFO, millones de elementos por segundo");
+        System.out.println("productores/consumidores\tcandado global\tColaConcurrente");
+        for (int hilos = 1; ; hilos = Math.min(hilos * 2, maximo)) {
+            double global = mideFifo(new ColaConCandado(), hilos);
+            double libre = mideFifo(nuevaColaConcurrente(), hilos);
+            System.out.printf("%d/%d\t\t\t\t%.2f\t\t%.2f%n", hilos, hilos, global, libre);
+            if (hilos >= maximo) {
+                break;
+            }
+        }
+
+        System.out.println();
+        System.out.println("Un productor y un consumidor, millones de elementos por segundo");
+        System.out.println("ColaConcurrente\tColaSPSC\tColaSPSC en lotes de " + LOTE);
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            double libre = midePar(nuevaColaConcurrente());
+            double sencilla = mideSPSC(1);
+            double lotes = mideSPSC(LOTE);
+            //La primera vuelta calienta el JIT y no se muestra
+            if (vuelta > 0) {
+                System.out.printf("%.2f\t\t%.2f\t\t%.2f%n", libre, sencilla, lotes);
+            }
+        }
+
+        mideAcotada(1, new long[1]);
+        System.out.println();
+        System.out.println("ColaBloqueante de capacidad " + CAPACIDAD_ACOTADA + " con un consumidor");
+        System.out.println("productores\tmillones por segundo\ttamawo maximo");
+        for (int hilos = 1; ; hilos = Math.min(hilos * 2, maximo)) {
+            long[] maximoVisto = new long[1];
+            double ritmo = mideAcotada(hilos, maximoVisto);
+            System.out.printf("%d\t\t%.2f\t\t\t%d%n", hilos, ritmo, maximoVisto[0]);
+            if (hilos >= maximo) {
+                break;
+            }
+        }
+    }//FIN DE MAIN
+
+    //Adapta un MonticuloConcurrente a la interfaz de la prueba
+    private static ColaPrioridad nuevaMultiQueue(){
+        final MonticuloConcurrente<Llave> multi = new MonticuloConcurrente<Llave>();
+        return new ColaPrioridad(){
+            @Override public void add(Llave llave){
+                multi.add(llave);
+            }
+            @Override public Llave poll(){
+                return multi.poll();
+            }
+        };
+    }//FIN DE NUEVAMULTIQUEUE
+
+    //Adapta una ColaConcurrente a la interfaz de la prueba
+    private static ColaFifo nuevaColaConcurrente(){
+        final ColaConcurrente<Object> cola = new ColaConcurrente<Object>();
+        return new ColaFifo(){
+            @Override public void push(Object elemento){
+                cola.push(elemento);
+            }
+            @Override public Object poll(){
+                return cola.poll();
+            }
+        };
+    }//FIN DE NUEVACOLACONCURRENTE
+
+    //Cada hilo saca una llave y la vuelve a meter con otra prioridad
+    private static double mide(ColaPrioridad cola, int hilos, long duracion) throws InterruptedException {
+        Thread[] trabajadores = new Thread[hilos];
+        long[] operaciones = new long[hilos];
+        for (int i = 0; i < hilos * LLAVES_POR_HILO; i++) {
+            cola.add(new Llave(ThreadLocalRandom.current().nextLong()));
+        }
+        long fin = System.nanoTime() + duracion * 1_000_000;
+        for (int h = 0; h < hilos; h++) {
+            final int id = h;
+            trabajadores[h] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long cuenta = 0;
+                while ((cuenta & 1023) != 0 || System.nanoTime() < fin) {
+                    Llave llave = cola.poll();
+                    if (llave != null) {
+                        llave.valor += random.nextInt(1 << 20);
+                        cola.add(llave);
+                    }
+                    cuenta++;
+                }
+                operaciones[id] = cuenta * 2;
+            });
+        }
+        long inicio = System.nanoTime();
+        for (Thread t : trabajadores) {
+            t.start();
+        }
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        long tiempo = System.nanoTime() - inicio;
+        long total = 0;
+        for (long o : operaciones) {
+            total += o;
+        }
+        return total * 1000.0 / tiempo;
+    }//FIN DE MIDE
+
+    //Los productores se reparten TRANSFERENCIAS elementos y los consumidores
+    //sacan hasta que pasan todos
+    private static double mideFifo(ColaFifo cola, int hilos) throws InterruptedException {
+        Thread[] trabajadores = new Thread[2 * hilos];
+        AtomicLong sacados = new AtomicLong();
+        Object elemento = new Object();
+        for (int h = 0; h < hilos; h++) {
+            final int cuota = TRANSFERENCIAS / hilos + (h < TRANSFERENCIAS % hilos ? 1 : 0);
+            trabajadores[h] = new Thread(() -> {
+                for (int i = 0; i < cuota; i++) {
+                    cola.push(elemento);
+                }
+            });
+            trabajadores[hilos + h] = new Thread(() -> {
+                while (sacados.get() < TRANSFERENCIAS) {
+                    if (cola.poll() != null) {
+                        sacados.incrementAndGet();
+                    }
+                    else {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        long inicio = System.nanoTime();
+        for (Thread t : trabajadores) {
+            t.start();
+        }
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        long tiempo = System.nanoTime() - inicio;
+        return TRANSFERENCIAS * 1000.0 / tiempo;
+    }//FIN DE MIDEFIFO
+
+    //Un productor mete TRANSFERENCIAS_PAR elementos y un consumidor los saca
+    private static double midePar(ColaFifo cola) throws InterruptedException {
+        Object elemento = new Object();
+        Thread productor = new Thread(() -> {
+            for (int i = 0; i < TRANSFERENCIAS_PAR; i++) {
+                cola.push(elemento);
+            }
+        });
+        Thread consumidor = new Thread(() -> {
+            for (int i = 0; i < TRANSFERENCIAS_PAR; ) {
+                if (cola.poll() != null) {
+                    i++;
+                }
+                else {
+                    Thread.yield();
+                }
+            }
+        });
+        return midePar(productor, consumidor);
+    }//FIN DE MIDEPAR 1
+
+    //Como midePar pero con una ColaSPSC, moviendo lote elementos a la vez
+    private static double mideSPSC(int lote) throws InterruptedException {
+        ColaSPSC<Object> cola = new ColaSPSC<Object>(4096);
+        Object[] salida = new Object[lote];
+        Object[] entrada = new Object[lote];
+        Arrays.fill(entrada, new Object());
+        Thread productor = new Thread(() -> {
+            for (int i = 0; i < TRANSFERENCIAS_PAR; ) {
+                int n = lote == 1 ? (cola.offer(entrada[0]) ? 1 : 0)
+                                  : cola.pushAll(entrada, 0, Math.min(lote, TRANSFERENCIAS_PAR - i));
+                if (n == 0) {
+                    Thread.yield();
+                }
+                i += n;
+            }
+        });
+        Thread consumidor = new Thread(() -> {
+            for (int i = 0; i < TRANSFERENCIAS_PAR; ) {
+                int n = lote == 1 ? (cola.poll() != null ? 1 : 0) : cola.drainTo(salida, 0, lote);
+                if (n == 0) {
+                    Thread.yield();
+                }
+                i += n;
+            }
+        });
+        return midePar(productor, consumidor);
+    }//FIN DE MIDESPSC
+
+    //Arranca los dos hilos y regresa millones de elementos por segundo
+    private static double midePar(Thread productor, Thread consumidor) throws InterruptedException {
+        long inicio = System.nanoTime();
+        productor.start();
+        consumidor.start();
+        productor.join();
+        consumidor.join();
+        long tiempo = System.nanoTime() - inicio;
+        return TRANSFERENCIAS_PAR * 1000.0 / tiempo;
+    }//FIN DE MIDEPAR 2
+
+    //Varios productores meten TRANSFERENCIAS elementos con put y un solo
+    //consumidor los saca con take; en tamawoMaximo[0] queda el mayor tamawo
+    //que vio el consumidor
+    private static double mideAcotada(int hilos, long[] tamawoMaximo) throws InterruptedException {
+        ColaBloqueante<Object> cola = new ColaBloqueante<Object>(CAPACIDAD_ACOTADA);
+        Thread[] productores = new Thread[hilos];
+        Object elemento = new Object();
+        for (int h = 0; h < hilos; h++) {
+            final int cuota = TRANSFERENCIAS / hilos + (h < TRANSFERENCIAS % hilos ? 1 : 0);
+            productores[h] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < cuota; i++) {
+                        cola.put(elemento);
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        Thread consumidor = new Thread(() -> {
+            try {
+                for (int i = 0; i < TRANSFERENCIAS; i++) {
+                    cola.take();
+                    if ((i & 1023) == 0) {
+                        tamawoMaximo[0] = Math.max(tamawoMaximo[0], cola.size());
+                    }
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long inicio = System.nanoTime();
+        for (Thread t : productores) {
+            t.start();
+        }
+        consumidor.start();
+        for (Thread t : productores) {
+            t.join();
+        }
+        consumidor.join();
+        long tiempo = System.nanoTime() - inicio;
+        return TRANSFERENCIAS * 1000.0 / tiempo;
+    }//FIN DE MIDEACOTADA
+
+}
@@ -0,0 +1,402 @@
+package src.edd;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Clase de pruebas de rendimiento de los monticulos.
+ * Para ejecutar: java src.edd.BenchMonticulo [n]
+ */
+public class BenchMonticulo {
+
+    /**
+     * Llave de prueba para los monticulos
+     */
+    private static class Llave implements ComparableIndexable<Llave>{
+        private long valor;
+        private int indice;
+
+        public Llave(long valor){
+            this.valor = valor;
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Llave otra){
+            return Long.compare(valor, otra.valor);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+            escrituras++;
+        }
+    }//FIN DE CLASE LLAVE
+
+    /**
+     * Vertice de la cuadricula para Dijkstra con MonticuloMinimo
+     */
+    private static class Nodo implements ComparableIndexable<Nodo>{
+        private final int id;
+        private long distancia;
+        private int indice;
+
+        public Nodo(int id){
+            this.id = id;
+            this.distancia = Long.MAX_VALUE;
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Nodo otro){
+            return Long.compare(distancia, otro.distancia);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE NODO
+
+    /* Para que el JIT no elimine el trabajo medido */
+    private static long sumidero;
+    /* Numero de comparaciones y de llamadas a setIndice contadas */
+    private static long comparaciones;
+    private static long escrituras;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Llave[] llaves = generaLlaves(n, 42);
+
+        System.out.println("Monticulo minimo con "+n+" llaves (ms, mejor de 5)");
+        System.out.println("aridad\tmuchos add\tmuchos delete");
+        for (int aridad : new int[]{2, 4, 8}) {
+            long add = Long.MAX_VALUE;
+            long delete = Long.MAX_VALUE;
+            for (int r = 0; r < 5; r++) {
+                add = Math.min(add, muchosAdd(llaves, aridad));
+                delete = Math.min(delete, muchosDelete(llaves, aridad));
+            }
+            System.out.println(aridad+"\t"+add / 1_000_000+"\t\t"+delete / 1_000_000);
+        }
+        System.out.println("\nPromedio por delete() con "+n+" llaves");
+        System.out.println("aridad\tcompareTo\tsetIndice");
+        for (int aridad : new int[]{2, 4, 8}) {
+            cuentaDelete(llaves, aridad);
+        }
+
+        System.out.println("\nMonticuloMinimo contra MonticuloEmparejamiento (ms, mejor de 5)");
+        System.out.println("mezcla\t\tMonticuloMinimo\tEmparejamiento");
+        long[] minimo = {Long.MAX_VALUE, Long.MAX_VALUE};
+        long[] emparejamiento = {Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int r = 0; r < 5; r++) {
+            minimo[0] = Math.min(minimo[0], insercionesMinimo(llaves));
+            emparejamiento[0] = Math.min(emparejamiento[0], insercionesEmparejamiento(llaves));
+            minimo[1] = Math.min(minimo[1], mezclasMinimo(llaves));
+            emparejamiento[1] = Math.min(emparejamiento[1], mezclasEmparejamiento(llaves));
+        }
+        System.out.println("muchos add\t"+minimo[0] / 1_000_000+"\t\t"+emparejamiento[0] / 1_000_000);
+        System.out.println("mezclas\t\t"+minimo[1] / 1_000_000+"\t\t"+emparejamiento[1] / 1_000_000);
+
+        System.out.println("\nCosto del medidor en muchos delete, aridad 2 (ms, mejor de 5)");
+        long sinMedir = Long.MAX_VALUE;
+        long medido = Long.MAX_VALUE;
+        MedidorMonticulo medidor = new MedidorMonticulo();
+        for (int r = 0; r < 5; r++) {
+            sinMedir = Math.min(sinMedir, muchosDelete(llaves, 2));
+            medidor.reinicia();
+            medido = Math.min(medido, muchosDelete(llaves, medidor));
+        }
+        System.out.println("sin medidor\t"+sinMedir / 1_000_000);
+        System.out.println("con medidor\t"+medido / 1_000_000);
+        System.out.println(medidor.instantanea());
+
+        System.out.println("\nCancelar 3 de cada 4 llaves y vaciar el resto (ms, mejor de 5)");
+        System.out.println("borrado\t\tcancelar\tvaciar");
+        for (double fraccion : new double[]{0, 0.25, 0.5}) {
+            long[] mejor = {Long.MAX_VALUE, Long.MAX_VALUE};
+            for (int r = 0; r < 5; r++) {
+                long[] tiempos = cancelaciones(llaves, fraccion);
+                mejor[0] = Math.min(mejor[0], tiempos[0]);
+                mejor[1] = Math.min(mejor[1], tiempos[1]);
+            }
+            String borrado = fraccion == 0 ? "inmediato" : "perezoso "+fraccion;
+            System.out.println(borrado+"\t"+mejor[0] / 1_000_000+"\t\t"+mejor[1] / 1_000_000);
+        }
+
+        int lado = (int)Math.sqrt(n);
+        System.out.println("\nDijkstra en una cuadricula de "+lado+"x"+lado+" (ms, mejor de 5)");
+        int[][] pesos = generaCuadricula(lado, 42);
+        long minimoDijkstra = Long.MAX_VALUE;
+        long radixDijkstra = Long.MAX_VALUE;
+        for (int r = 0; r < 5; r++) {
+            minimoDijkstra = Math.min(minimoDijkstra, dijkstraMinimo(lado, pesos));
+            radixDijkstra = Math.min(radixDijkstra, dijkstraRadix(lado, pesos));
+        }
+        System.out.println("MonticuloMinimo\t"+minimoDijkstra / 1_000_000);
+        System.out.println("MonticuloRadix\t"+radixDijkstra / 1_000_000);
+        System.out.println("(control "+sumidero+")");
+    }//FIN DE MAIN
+
+    //Genera llaves aleatorias reproducibles
+    private static Llave[] generaLlaves(int n, long semilla){
+        Random random = new Random(semilla);
+        Llave[] llaves = new Llave[n];
+        for (int i = 0; i < n; i++) {
+            llaves[i] = new Llave(random.nextLong());
+        }
+        return llaves;
+    }//FIN DE GENERALLAVES
+
+    //Mezcla con muchas inserciones: se agregan todas las llaves y se elimina una de cada cuatro
+    private static long muchosAdd(Llave[] llaves, int aridad){
+        long inicio = System.nanoTime();
+        MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>(aridad);
+        for (int i = 0; i < llaves.length; i++) {
+            monticulo.add(llaves[i]);
+            if ((i & 3) == 3) {
+                sumidero += monticulo.delete().valor;
+            }
+        }
+        long tiempo = System.nanoTime() - inicio;
+        monticulo.empty();
+        return tiempo;
+    }//FIN DE MUCHOSADD
+
+    //Mezcla con muchas eliminaciones: se llena el monticulo y se vacia con delete()
+    private static long muchosDelete(Llave[] llaves, int aridad){
+        MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>(aridad);
+        for (Llave llave : llaves) {
+            monticulo.add(llave);
+        }
+        long inicio = System.nanoTime();
+        while (!monticulo.isEmpty()) {
+            sumidero += monticulo.delete().valor;
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE MUCHOSDELETE
+
+    //Igual que muchosDelete con un monticulo binario que cuenta sus operaciones
+    private static long muchosDelete(Llave[] llaves, MedidorMonticulo medidor){
+        MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>(2, 100, medidor);
+        for (Llave llave : llaves) {
+            monticulo.add(llave);
+        }
+        long inicio = System.nanoTime();
+        while (!monticulo.isEmpty()) {
+            sumidero += monticulo.delete().valor;
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE MUCHOSDELETE(MEDIDOR)
+
+    //Llena el monticulo, cancela tres de cada cuatro llaves con delete(T) y saca las demas.
+    //Con fraccion 0 se usa el borrado inmediato. Regresa el tiempo de cada fase.
+    private static long[] cancelaciones(Llave[] llaves, double fraccion){
+        MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>();
+        if (fraccion > 0) {
+            monticulo.activaBorradoPerezoso(fraccion);
+        }
+        for (Llave llave : llaves) {
+            monticulo.add(llave);
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < llaves.length; i++) {
+            if ((i & 3) != 0) {
+                monticulo.delete(llaves[i]);
+            }
+        }
+        long cancelar = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        while (!monticulo.isEmpty()) {
+            sumidero += monticulo.delete().valor;
+        }
+        return new long[]{cancelar, System.nanoTime() - inicio};
+    }//FIN DE CANCELACIONES
+
+    //Genera los pesos de una cuadricula, como una red de calles: pesos[0][v] es la
+    //arista de v a su vecino de la derecha y pesos[1][v] la de v a su vecino de abajo
+    private static int[][] generaCuadricula(int lado, long semilla){
+        Random random = new Random(semilla);
+        int[][] pesos = new int[2][lado * lado];
+        for (int v = 0; v < lado * lado; v++) {
+            pesos[0][v] = 1 + random.nextInt(1000);
+            pesos[1][v] = 1 + random.nextInt(1000);
+        }
+        return pesos;
+    }//FIN DE GENERACUADRICULA
+
+    //Regresa el peso de la arista de v a su vecino en la direccion recibida, o -1 si no tiene
+    private static int peso(int lado, int[][] pesos, int v, int direccion){
+        int x = v % lado;
+        int y = v / lado;
+        switch (direccion) {
+            case 0: return x + 1 < lado ? pesos[0][v] : -1;
+            case 1: return y + 1 < lado ? pesos[1][v] : -1;
+            case 2: return x > 0 ? pesos[0][v - 1] : -1;
+            default: return y > 0 ? pesos[1][v - lado] : -1;
+        }
+    }//FIN DE PESO
+
+    //Regresa el vecino de v en la direccion recibida: derecha, abajo, izquierda, arriba
+    private static int vecino(int lado, int v, int direccion){
+        switch (direccion) {
+            case 0: return v + 1;
+            case 1: return v + lado;
+            case 2: return v - 1;
+            default: return v - lado;
+        }
+    }//FIN DE VECINO
+
+    //Dijkstra desde la esquina con MonticuloMinimo y decreaseKey
+    private static long dijkstraMinimo(int lado, int[][] pesos){
+        long inicio = System.nanoTime();
+        Nodo[] nodos = new Nodo[lado * lado];
+        for (int v = 0; v < nodos.length; v++) {
+            nodos[v] = new Nodo(v);
+        }
+        MonticuloMinimo<Nodo> monticulo = new MonticuloMinimo<Nodo>();
+        nodos[0].distancia = 0;
+        monticulo.add(nodos[0]);
+        while (!monticulo.isEmpty()) {
+            Nodo nodo = monticulo.delete();
+            for (int d = 0; d < 4; d++) {
+                int p = peso(lado, pesos, nodo.id, d);
+                if (p < 0) {
+                    continue;
+                }
+                Nodo w = nodos[vecino(lado, nodo.id, d)];
+                long nueva = nodo.distancia + p;
+                if (nueva < w.distancia) {
+                    boolean estaba = w.distancia != Long.MAX_VALUE;
+                    w.distancia = nueva;
+                    if (estaba) {
+                        monticulo.decreaseKey(w);
+                    }
+                    else {
+                        monticulo.add(w);
+                    }
+                }
+            }
+        }
+        sumidero += nodos[nodos.length - 1].distancia;
+        return System.nanoTime() - inicio;
+    }//FIN DE DIJKSTRAMINIMO
+
+    //Dijkstra desde la esquina con MonticuloRadix. No hay decreaseKey: se agrega
+    //otra vez el vertice y los registros viejos se ignoran al salir
+    private static long dijkstraRadix(int lado, int[][] pesos){
+        long inicio = System.nanoTime();
+        long[] distancias = new long[lado * lado];
+        Arrays.fill(distancias, Long.MAX_VALUE);
+        MonticuloRadix monticulo = new MonticuloRadix(0);
+        distancias[0] = 0;
+        monticulo.add(0, 0);
+        while (!monticulo.isEmpty()) {
+            int v = (int)monticulo.delete();
+            long distancia = monticulo.getUltimaClave();
+            if (distancia > distancias[v]) {
+                continue;
+            }
+            for (int d = 0; d < 4; d++) {
+                int p = peso(lado, pesos, v, d);
+                if (p < 0) {
+                    continue;
+                }
+                int w = vecino(lado, v, d);
+                long nueva = distancia + p;
+                if (nueva < distancias[w]) {
+                    distancias[w] = nueva;
+                    monticulo.add(nueva, w);
+                }
+            }
+        }
+        sumidero += distancias[distancias.length - 1];
+        return System.nanoTime() - inicio;
+    }//FIN DE DIJKSTRARADIX
+
+    /* Numero de elementos que se agregan por cada delete() en la mezcla de inserciones */
+    private static final int ADD_POR_DELETE = 10;
+    /* Tamawo de los monticulos que se mezclan */
+    private static final int TAMAWO_MEZCLA = 1000;
+
+    //Mezcla con muchas inserciones: se agregan todas las llaves y se elimina una de cada diez
+    private static long insercionesMinimo(Llave[] llaves){
+        long inicio = System.nanoTime();
+        MonticuloMinimo<Llave> monticulo = new MonticuloMinimo<Llave>();
+        for (int i = 0; i < llaves.length; i++) {
+            monticulo.add(llaves[i]);
+            if (i % ADD_POR_DELETE == 0) {
+                sumidero += monticulo.delete().valor;
+            }
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE INSERCIONESMINIMO
+
+    //La misma mezcla con un monticulo de emparejamiento
+    private static long insercionesEmparejamiento(Llave[] llaves){
+        long inicio = System.nanoTime();
+        MonticuloEmparejamiento<Llave> monticulo = new MonticuloEmparejamiento<Llave>(Comparator.naturalOrder());
+        for (int i = 0; i < llaves.length; i++) {
+            monticulo.add(llaves[i]);
+            if (i % ADD_POR_DELETE == 0) {
+                sumidero += monticulo.delete().valor;
+            }
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE INSERCIONESEMPAREJAMIENTO
+
+    //Mezcla con muchas uniones: se arman monticulos pequewos y se juntan todos en uno
+    private static long mezclasMinimo(Llave[] llaves){
+        long inicio = System.nanoTime();
+        MonticuloMinimo<Llave> total = new MonticuloMinimo<Llave>();
+        for (int i = 0; i < llaves.length; i += TAMAWO_MEZCLA) {
+            MonticuloMinimo<Llave> parte = new MonticuloMinimo<Llave>();
+            for (int j = i; j < Math.min(i + TAMAWO_MEZCLA, llaves.length); j++) {
+                parte.add(llaves[j]);
+            }
+            total.addAll(parte);
+            parte.empty();
+            sumidero += total.delete().valor;
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE MEZCLASMINIMO
+
+    //La misma mezcla con monticulos de emparejamiento
+    private static long mezclasEmparejamiento(Llave[] llaves){
+        long inicio = System.nanoTime();
+        MonticuloEmparejamiento<Llave> total = new MonticuloEmparejamiento<Llave>(Comparator.naturalOrder());
+        for (int i = 0; i < llaves.length; i += TAMAWO_MEZCLA) {
+            MonticuloEmparejamiento<Llave> parte = new MonticuloEmparejamiento<Llave>(Comparator.naturalOrder());
+            for (int j = i; j < Math.min(i + TAMAWO_MEZCLA, llaves.length); j++) {
+                parte.add(llaves[j]);
+            }
+            total.meld(parte);
+            sumidero += total.delete().valor;
+        }
+        return System.nanoTime() - inicio;
+    }//FIN DE MEZCLASEMPAREJAMIENTO
+
+    //Cuenta las comparaciones y escrituras de indice que hace delete() en promedio
+    private static void cuentaDelete(Llave[] llaves, int aridad){
+        Monticulo<Llave> monticulo = new Monticulo<Llave>((a, b) -> {
+            comparaciones++;
+            return a.compareTo(b);
+        }, aridad);
+        for (Llave llave : llaves) {
+            monticulo.add(llave);
+        }
+        comparaciones = 0;
+        escrituras = 0;
+        while (!monticulo.isEmpty()) {
+            sumidero += monticulo.delete().valor;
+        }
+        System.out.printf("%d\t%.1f\t\t%.1f%n", aridad,
+                          (double)comparaciones / llaves.length, (double)escrituras / llaves.length);
+    }//FIN DE CUENTADELETE
+
+}
@@ -0,0 +1,76 @@
+package src.edd;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga del temporizador: mide el costo de programar y cancelar, y
+ * el retraso con el que se ejecutan las tareas, con pocas tareas pendientes y
+ * con n tareas pendientes.
+ * Para ejecutar: java src.edd.BenchTemporizador [n]
+ */
+public class BenchTemporizador {
+
+    /* Numero de operaciones que se miden en cada prueba */
+    private static final int MUESTRAS = 10_000;
+    /* Las tareas de prueba vencen dentro de este numero de milisegundos */
+    private static final int VENTANA_MS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("Temporizador, tick de 1 ms");
+        System.out.println("pendientes\tprograma (ns)\tcancela (ns)\tretraso p50/p99/max (ms)");
+        //La primera vuelta calienta el JIT y no se muestra
+        mide(1_000, false);
+        mide(1_000, true);
+        mide(n, true);
+    }//FIN DE MAIN
+
+    //Llena un temporizador con tareas lejanas y mide sus operaciones con esa carga
+    private static void mide(int pendientes, boolean muestra) throws InterruptedException {
+        Random random = new Random(7);
+        Runnable nada = () -> {};
+        try (Temporizador temporizador = new Temporizador(1, TimeUnit.MILLISECONDS, Runnable::run)) {
+            for (int i = 0; i < pendientes; i++) {
+                temporizador.programa(nada, 3_600_000 + random.nextInt(3_600_000), TimeUnit.MILLISECONDS);
+            }
+
+            //Costo de programar y cancelar con el temporizador lleno
+            Temporizador.Tarea[] tareas = new Temporizador.Tarea[MUESTRAS];
+            long inicio = System.nanoTime();
+            for (int i = 0; i < MUESTRAS; i++) {
+                tareas[i] = temporizador.programa(nada, 3_600_000 + random.nextInt(3_600_000), TimeUnit.MILLISECONDS);
+            }
+            long programa = (System.nanoTime() - inicio) / MUESTRAS;
+            inicio = System.nanoTime();
+            for (int i = 0; i < MUESTRAS; i++) {
+                temporizador.cancela(tareas[i]);
+            }
+            long cancela = (System.nanoTime() - inicio) / MUESTRAS;
+
+            //Retraso entre el plazo de cada tarea y el momento en que se ejecuta
+            long[] retrasos = new long[MUESTRAS];
+            CountDownLatch listas = new CountDownLatch(MUESTRAS);
+            for (int i = 0; i < MUESTRAS; i++) {
+                final int k = i;
+                long espera = random.nextInt(VENTANA_MS);
+                final long plazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(espera);
+                temporizador.programa(() -> {
+                    retrasos[k] = System.nanoTime() - plazo;
+                    listas.countDown();
+                }, espera, TimeUnit.MILLISECONDS);
+            }
+            listas.await();
+            Arrays.sort(retrasos);
+            if (muestra) {
+                System.out.printf("%d\t\t%d\t\t%d\t\t%.2f / %.2f / %.2f%n", pendientes, programa, cancela,
+                                  retrasos[MUESTRAS / 2] / 1e6, retrasos[MUESTRAS * 99 / 100] / 1e6,
+                                  retrasos[MUESTRAS - 1] / 1e6);
+            }
+        }
+    }//FIN DE MIDE
+
+}
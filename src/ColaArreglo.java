@@ -0,0 +1,48 @@
+package src.edd;
+
+/**
+ * Clase para colas guardadas en un arreglo circular. Se agrega al final y se
+ * saca de la cabeza, como en Cola, pero sin crear un nodo por elemento.
+ * Tambien se puede usar como cola de dos extremos con agregaInicio y popFinal.
+ */
+public class ColaArreglo<T> extends PushPopArreglo<T> {
+
+    public ColaArreglo(){
+        super();
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la capacidad inicial
+     * @param capacidad La capacidad inicial
+     */
+    public ColaArreglo(int capacidad){
+        super(capacidad);
+    }//FIN DE CONSTRUCTOR 2
+
+    // Agregar al final.
+    @Override public void push(T elemento){
+        agregaFinal(elemento);
+    }//FIN DE PUSH
+
+    /**
+     * Regresa un clon de la estructura.
+     * 
+     * @return un clon de la estructura.
+     */
+    @Override public ColaArreglo<T> clone(){
+        ColaArreglo<T> nueva = new ColaArreglo<T>(Math.max(longi, 1));
+        for(int i = 0; i < longi; i++){
+            nueva.agregaFinal(elemento(i));
+        }
+        return nueva;
+    }//FIN DE CLONE
+
+    /**
+     * Metodo para imprimir una cola, desde la cabeza
+     * @return
+     */
+    @Override public String toString(){
+        return cadena(true);
+    }//FIN DE TOSTRING
+
+}
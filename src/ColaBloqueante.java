@@ -0,0 +1,406 @@
+package src.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase para colas acotadas que varios hilos pueden compartir. Cuando la cola
+ * esta llena, put espera a que haya lugar en vez de dejarla crecer, asi que
+ * los productores rapidos se frenan al ritmo de los consumidores y la memoria
+ * no pasa de la capacidad. Cuando la cola esta vacia, take espera a que
+ * llegue un elemento.
+ *
+ * Los elementos se guardan en una ColaArreglo protegida por un ReentrantLock
+ * con dos condiciones, una para los que esperan lugar y otra para los que
+ * esperan elementos. Las esperas usan Condition y no synchronized ni
+ * wait/notify, asi que un hilo virtual que espera no se queda pegado a su
+ * hilo de plataforma.
+ *
+ * push, pop, peek y peek2 no esperan: push lanza una excepcion si la cola
+ * esta llena y pop si esta vacia.
+ */
+public class ColaBloqueante<T> extends PushPop<T> {
+
+    /* Los elementos, desde la cabeza */
+    private final ColaArreglo<T> cola;
+    /* El numero maximo de elementos */
+    private final int capacidad;
+    /* Protege a la cola */
+    private final ReentrantLock candado;
+    /* Avisa a los consumidores que hay elementos */
+    private final Condition noVacia;
+    /* Avisa a los productores que hay lugar */
+    private final Condition noLlena;
+
+    /* Capacidad inicial del arreglo de la cola, que crece hasta la capacidad */
+    private static final int CAPACIDAD_ARREGLO = 1024;
+
+    /**
+     * Constructor que recibe la capacidad
+     * @param capacidad El numero maximo de elementos
+     * @throws IllegalArgumentException si la capacidad es menor a 1 o mayor a 2^30
+     */
+    public ColaBloqueante(int capacidad){
+        if (capacidad < 1 || capacidad > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad no valida");
+        }
+        this.capacidad = capacidad;
+        this.cola = new ColaArreglo<T>(Math.min(capacidad, CAPACIDAD_ARREGLO));
+        this.candado = new ReentrantLock();
+        this.noVacia = candado.newCondition();
+        this.noLlena = candado.newCondition();
+    }//FIN DE CONSTRUCTOR
+
+    /**
+     * Agrega un elemento al final, esperando a que haya lugar
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     * @throws InterruptedException si se interrumpe al hilo mientras espera
+     */
+    public void put(T elemento) throws InterruptedException {
+        if (elemento == null) {
+            throw new IllegalArgumentException("");
+        }
+        candado.lockInterruptibly();
+        try {
+            while (cola.size() == capacidad) {
+                noLlena.await();
+            }
+            mete(elemento);
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE PUT
+
+    /**
+     * Agrega un elemento al final si hay lugar, sin esperar
+     * @param elemento El elemento a agregar
+     * @return <code>true</code> si se agrego, <code>false</code> si la cola
+     *         esta llena
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public boolean offer(T elemento){
+        if (elemento == null) {
+            throw new IllegalArgumentException("");
+        }
+        candado.lock();
+        try {
+            if (cola.size() == capacidad) {
+                return false;
+            }
+            mete(elemento);
+            return true;
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE OFFER 1
+
+    /**
+     * Agrega un elemento al final, esperando a lo mas el tiempo indicado a
+     * que haya lugar
+     * @param elemento El elemento a agregar
+     * @param tiempo El tiempo maximo de espera
+     * @param unidad La unidad del tiempo
+     * @return <code>true</code> si se agrego, <code>false</code> si se acabo
+     *         el tiempo con la cola llena
+     * @throws IllegalArgumentException si el elemento es null
+     * @throws InterruptedException si se interrumpe al hilo mientras espera
+     */
+    public boolean offer(T elemento, long tiempo, TimeUnit unidad) throws InterruptedException {
+        if (elemento == null) {
+            throw new IllegalArgumentException("");
+        }
+        long nanos = unidad.toNanos(tiempo);
+        candado.lockInterruptibly();
+        try {
+            while (cola.size() == capacidad) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = noLlena.awaitNanos(nanos);
+            }
+            mete(elemento);
+            return true;
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE OFFER 2
+
+    /**
+     * Agrega un elemento al final sin esperar
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     * @throws IllegalStateException si la cola esta llena
+     */
+    @Override public void push(T elemento){
+        if (!offer(elemento)) {
+            throw new IllegalStateException("La estructura esta llena");
+        }
+    }//FIN DE PUSH
+
+    /**
+     * Saca el elemento de la cabeza, esperando a que haya uno
+     * @return el elemento de la cabeza
+     * @throws InterruptedException si se interrumpe al hilo mientras espera
+     */
+    public T take() throws InterruptedException {
+        candado.lockInterruptibly();
+        try {
+            while (cola.isEmpty()) {
+                noVacia.await();
+            }
+            return saca();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE TAKE
+
+    /**
+     * Saca el elemento de la cabeza sin esperar
+     * @return el elemento de la cabeza, o null si la cola es vacia
+     */
+    public T poll(){
+        candado.lock();
+        try {
+            return cola.isEmpty() ? null : saca();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE POLL 1
+
+    /**
+     * Saca el elemento de la cabeza, esperando a lo mas el tiempo indicado a
+     * que haya uno
+     * @param tiempo El tiempo maximo de espera
+     * @param unidad La unidad del tiempo
+     * @return el elemento de la cabeza, o null si se acabo el tiempo con la
+     *         cola vacia
+     * @throws InterruptedException si se interrumpe al hilo mientras espera
+     */
+    public T poll(long tiempo, TimeUnit unidad) throws InterruptedException {
+        long nanos = unidad.toNanos(tiempo);
+        candado.lockInterruptibly();
+        try {
+            while (cola.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = noVacia.awaitNanos(nanos);
+            }
+            return saca();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE POLL 2
+
+    /**
+     * Saca el elemento de la cabeza sin esperar
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T pop(){
+        T valor = poll();
+        if (valor == null) {
+            throw new NoSuchElementException("");
+        }
+        return valor;
+    }//FIN DE POP
+
+    /**
+     * Saca hasta maximo elementos de la cabeza, en orden, sin esperar, y los
+     * agrega a la coleccion recibida
+     * @param salida La coleccion donde se agregan los elementos
+     * @param maximo El numero maximo de elementos a sacar
+     * @return el numero de elementos que se sacaron
+     * @throws IllegalArgumentException si maximo es negativo
+     */
+    public int drainTo(Collection<? super T> salida, int maximo){
+        if (maximo < 0) {
+            throw new IllegalArgumentException("maximo no puede ser negativo");
+        }
+        candado.lock();
+        try {
+            int n = Math.min(maximo, cola.size());
+            for (int i = 0; i < n; i++) {
+                salida.add(cola.pop());
+            }
+            if (n > 0) {
+                noLlena.signalAll();
+            }
+            return n;
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE DRAINTO
+
+    //Agrega al final y despierta a un consumidor, con el candado tomado
+    private void mete(T elemento){
+        cola.agregaFinal(elemento);
+        noVacia.signal();
+    }//FIN DE METE
+
+    //Saca de la cabeza y despierta a un productor, con el candado tomado
+    private T saca(){
+        T valor = cola.pop();
+        noLlena.signal();
+        return valor;
+    }//FIN DE SACA
+
+    /**
+     * Regresa el elemento de la cabeza
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek(){
+        candado.lock();
+        try {
+            return cola.peek();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE PEEK
+
+    /**
+     * Regresa el elemento del final
+     * @return el elemento del final
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek2(){
+        candado.lock();
+        try {
+            return cola.peek2();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE PEEK2
+
+    @Override public int size(){
+        candado.lock();
+        try {
+            return cola.size();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE SIZE
+
+    /**
+     * Regresa el numero maximo de elementos de la cola
+     * @return la capacidad
+     */
+    public int getCapacidad(){
+        return capacidad;
+    }//FIN DE GETCAPACIDAD
+
+    /**
+     * Regresa cuantos elementos se pueden agregar sin esperar
+     * @return el lugar libre
+     */
+    public int getLugarLibre(){
+        candado.lock();
+        try {
+            return capacidad - cola.size();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE GETLUGARLIBRE
+
+    /**
+     * Vacia la cola y despierta a los productores que esperan lugar
+     */
+    @Override public void empty(){
+        candado.lock();
+        try {
+            cola.empty();
+            noLlena.signalAll();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        candado.lock();
+        try {
+            return cola.isEmpty();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE ISEMPTY
+
+    /**
+     * Regresa un clon de la estructura, con la misma capacidad.
+     *
+     * @return un clon de la estructura.
+     */
+    @Override public ColaBloqueante<T> clone(){
+        ColaBloqueante<T> nueva = new ColaBloqueante<T>(capacidad);
+        candado.lock();
+        try {
+            for (int i = 0; i < cola.size(); i++) {
+                nueva.cola.agregaFinal(cola.elemento(i));
+            }
+        }
+        finally {
+            candado.unlock();
+        }
+        return nueva;
+    }//FIN DE CLONE
+
+    /**
+     * Metodo para imprimir una cola, desde la cabeza
+     * @return
+     */
+    @Override public String toString(){
+        candado.lock();
+        try {
+            return cola.toString();
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE TOSTRING
+
+    @Override public boolean equals(Object o){
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        //Se compara contra una copia para no tomar dos candados a la vez
+        @SuppressWarnings("unchecked") ColaBloqueante<T> otra = ((ColaBloqueante<T>)o).clone();
+        candado.lock();
+        try {
+            return cola.equals(otra.cola);
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE EQUALS
+
+    @Override public int hashCode(){
+        candado.lock();
+        try {
+            int hash = 1;
+            for (int i = 0; i < cola.size(); i++) {
+                hash = 31 * hash + cola.elemento(i).hashCode();
+            }
+            return hash;
+        }
+        finally {
+            candado.unlock();
+        }
+    }//FIN DE HASHCODE
+
+}
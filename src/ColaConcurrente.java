@@ -0,0 +1,255 @@
+package src.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Clase para colas que pueden usar varios hilos a la vez sin candados
+ * (la cola de Michael y Scott). Los nodos forman una lista ligada cuya cabeza
+ * es un nodo centinela; push enlaza el nodo nuevo al final con un
+ * compareAndSet y poll avanza la cabeza con otro. Si un hilo encuentra el
+ * apuntador al ultimo nodo atrasado, lo avanza en lugar de esperar, asi que
+ * ningun hilo bloquea a los demas.
+ *
+ * push, poll, pop, peek e isEmpty son atomicas. size, peek2, toString, clone
+ * y equals recorren la lista y, si otros hilos la modifican mientras tanto,
+ * regresan un resultado aproximado.
+ */
+public class ColaConcurrente<T> extends PushPop<T> {
+
+    /* Accesos atomicos a la cabeza, al ultimo nodo y a los enlaces */
+    private static final VarHandle CABEZA;
+    private static final VarHandle ULTIMO;
+    private static final VarHandle SIGUIENTE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CABEZA = lookup.findVarHandle(PushPop.class, "cabeza", PushPop.Nodo.class);
+            ULTIMO = lookup.findVarHandle(PushPop.class, "ultimo", PushPop.Nodo.class);
+            SIGUIENTE = lookup.findVarHandle(PushPop.Nodo.class, "siguiente", PushPop.Nodo.class);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public ColaConcurrente(){
+        Nodo centinela = new Nodo(null);
+        cabeza = ultimo = centinela;
+    }//FIN DE CONSTRUCTOR
+
+    /**
+     * Agrega un elemento al final de la cola sin bloquear
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    @Override public void push(T elemento){
+        if (elemento == null) {
+            throw new IllegalArgumentException("");
+        }
+        Nodo nuevo = new Nodo(elemento);
+        while (true) {
+            Nodo fin = ultimo();
+            Nodo siguiente = siguiente(fin);
+            if (siguiente == null) {
+                if (SIGUIENTE.compareAndSet(fin, null, nuevo)) {
+                    //Si falla, otro hilo ya avanzo el ultimo nodo
+                    ULTIMO.compareAndSet(this, fin, nuevo);
+                    return;
+                }
+            }
+            else {
+                //El ultimo nodo esta atrasado, se ayuda a avanzarlo
+                ULTIMO.compareAndSet(this, fin, siguiente);
+            }
+        }
+    }//FIN DE PUSH
+
+    /**
+     * Saca el elemento de la cabeza sin bloquear
+     * @return el elemento de la cabeza, o null si la cola es vacia
+     */
+    public T poll(){
+        while (true) {
+            Nodo inicio = cabeza();
+            Nodo fin = ultimo();
+            Nodo primero = siguiente(inicio);
+            if (primero == null) {
+                return null;
+            }
+            if (inicio == fin) {
+                //La cabeza no debe rebasar al ultimo nodo
+                ULTIMO.compareAndSet(this, fin, primero);
+                continue;
+            }
+            T valor = primero.elemento;
+            if (CABEZA.compareAndSet(this, inicio, primero)) {
+                //El primer nodo es el nuevo centinela
+                primero.elemento = null;
+                return valor;
+            }
+        }
+    }//FIN DE POLL
+
+    /**
+     * Saca el elemento de la cabeza sin bloquear
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T pop(){
+        T valor = poll();
+        if (valor == null) {
+            throw new NoSuchElementException("");
+        }
+        return valor;
+    }//FIN DE POP
+
+    /**
+     * Regresa el elemento de la cabeza
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek(){
+        while (true) {
+            Nodo inicio = cabeza();
+            Nodo primero = siguiente(inicio);
+            if (primero == null) {
+                throw new NoSuchElementException("");
+            }
+            T valor = primero.elemento;
+            //Si la cabeza no cambio, el valor no se ha sacado
+            if (valor != null && cabeza() == inicio) {
+                return valor;
+            }
+        }
+    }//FIN DE PEEK
+
+    /**
+     * Regresa el elemento del final. Con otros hilos sacando elementos puede
+     * regresar uno que ya salio.
+     * @return el elemento del final
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek2(){
+        while (true) {
+            Nodo n = ultimo();
+            Nodo siguiente;
+            while ((siguiente = siguiente(n)) != null) {
+                n = siguiente;
+            }
+            T valor = n.elemento;
+            if (valor != null) {
+                return valor;
+            }
+            //Sin elemento y sin siguiente, el ultimo nodo es el centinela
+            if (siguiente(n) == null) {
+                throw new NoSuchElementException("");
+            }
+        }
+    }//FIN DE PEEK2
+
+    /**
+     * Regresa el numero de elementos en O(n). Con otros hilos modificando la
+     * cola el resultado es aproximado.
+     * @return el numero de elementos
+     */
+    @Override public int size(){
+        int cuenta = 0;
+        for (Nodo n = siguiente(cabeza()); n != null && cuenta < Integer.MAX_VALUE; n = siguiente(n)) {
+            if (n.elemento != null) {
+                cuenta++;
+            }
+        }
+        return cuenta;
+    }//FIN DE SIZE
+
+    /**
+     * Vacia la cola sacando sus elementos uno por uno
+     */
+    @Override public void empty(){
+        while (poll() != null) {
+        }
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return siguiente(cabeza()) == null;
+    }//FIN DE ISEMPTY
+
+    /**
+     * Regresa un clon de la estructura.
+     *
+     * @return un clon de la estructura.
+     */
+    @Override public ColaConcurrente<T> clone(){
+        ColaConcurrente<T> nueva = new ColaConcurrente<T>();
+        for (Nodo n = siguiente(cabeza()); n != null; n = siguiente(n)) {
+            T valor = n.elemento;
+            if (valor != null) {
+                nueva.push(valor);
+            }
+        }
+        return nueva;
+    }//FIN DE CLONE
+
+    /**
+     * Metodo para imprimir una cola, desde la cabeza
+     * @return
+     */
+    @Override public String toString(){
+        StringBuilder regreso = new StringBuilder();
+        for (Nodo n = siguiente(cabeza()); n != null; n = siguiente(n)) {
+            T valor = n.elemento;
+            if (valor != null) {
+                if (regreso.length() > 0) {
+                    regreso.append(", ");
+                }
+                regreso.append(valor.toString());
+            }
+        }
+        return regreso.toString();
+    }//FIN DE TOSTRING
+
+    @Override public boolean equals(Object o){
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        @SuppressWarnings("unchecked") ColaConcurrente<T> otra = (ColaConcurrente<T>)o;
+        Nodo aux1 = siguiente(this.cabeza());
+        Nodo aux2 = siguiente(otra.cabeza());
+        while (aux1 != null && aux2 != null) {
+            if (!Objects.equals(aux1.elemento, aux2.elemento)) {
+                return false;
+            }
+            aux1 = siguiente(aux1);
+            aux2 = siguiente(aux2);
+        }
+        return aux1 == null && aux2 == null;
+    }//FIN DE EQUALS
+
+    @Override public int hashCode(){
+        int hash = 1;
+        for (Nodo n = siguiente(cabeza()); n != null; n = siguiente(n)) {
+            hash = 31 * hash + Objects.hashCode(n.elemento);
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+    @SuppressWarnings("unchecked")
+    private Nodo cabeza(){
+        return (Nodo)CABEZA.getAcquire(this);
+    }//FIN DE CABEZA
+
+    @SuppressWarnings("unchecked")
+    private Nodo ultimo(){
+        return (Nodo)ULTIMO.getAcquire(this);
+    }//FIN DE ULTIMO
+
+    @SuppressWarnings("unchecked")
+    private Nodo siguiente(Nodo n){
+        return (Nodo)SIGUIENTE.getAcquire(n);
+    }//FIN DE SIGUIENTE
+
+}
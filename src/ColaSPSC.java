@@ -0,0 +1,398 @@
+package src.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Clase para colas acotadas entre exactamente dos hilos: un productor, que es
+ * el unico que llama push, offer y pushAll, y un consumidor, que es el unico
+ * que llama pop, poll, peek, drainTo y empty. Los elementos se guardan en un
+ * arreglo circular y cada lado solo escribe su propio contador, asi que no
+ * hace falta ningun compareAndSet: basta publicar el contador con una
+ * escritura release y leer el del otro lado con una lectura acquire.
+ *
+ * Los contadores de la cabeza y del final viven en un arreglo de long, a
+ * 128 bytes de distancia entre si y de cualquier otro objeto, para que el
+ * productor y el consumidor no se invaliden mutuamente la linea de cache en
+ * la que estan. Cada lado guarda junto a su
+ * contador una copia del contador del otro y solo la vuelve a leer cuando
+ * parece que la cola esta llena o vacia. pushAll y drainTo mueven muchos
+ * elementos con una sola publicacion del contador.
+ *
+ * size, peek2, toString, clone y equals se pueden llamar desde cualquier hilo
+ * pero, si la cola cambia mientras tanto, regresan un resultado aproximado.
+ */
+public class ColaSPSC<T> extends PushPop<T> {
+
+    /* Acceso con orden de memoria a los contadores */
+    private static final VarHandle CONTADORES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /* Posiciones en contadores: entre cada lado y lo demas quedan 128 bytes */
+    private static final int FINAL = 16;
+    private static final int COPIA_CABEZA = 17;
+    private static final int CABEZA = 33;
+    private static final int COPIA_FINAL = 34;
+    private static final int TAMAWO_CONTADORES = 50;
+
+    /* Capacidad cuando no se indica otra */
+    private static final int CAPACIDAD_INICIAL = 1024;
+    /* Capacidad maxima del arreglo */
+    private static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+    /* Los elementos, en la posicion de su contador modulo la capacidad */
+    private final T[] arreglo;
+    /* La capacidad menos uno, la capacidad es potencia de dos */
+    private final int mascara;
+    /* Los contadores de elementos agregados y sacados, con relleno */
+    private final long[] contadores;
+
+    public ColaSPSC(){
+        this(CAPACIDAD_INICIAL);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la capacidad, que se redondea a la siguiente
+     * potencia de dos
+     * @param capacidad La capacidad minima
+     * @throws IllegalArgumentException si la capacidad es menor a 1 o mayor a 2^30
+     */
+    @SuppressWarnings("unchecked")
+    public ColaSPSC(int capacidad){
+        if (capacidad < 1 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Capacidad no valida");
+        }
+        int potencia = Integer.highestOneBit(capacidad);
+        if (potencia < capacidad) {
+            potencia <<= 1;
+        }
+        arreglo = (T[])new Object[potencia];
+        mascara = potencia - 1;
+        contadores = new long[TAMAWO_CONTADORES];
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Agrega un elemento al final. Solo lo llama el productor.
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     * @throws IllegalStateException si la cola esta llena
+     */
+    @Override public void push(T elemento){
+        if (!offer(elemento)) {
+            throw new IllegalStateException("La estructura esta llena");
+        }
+    }//FIN DE PUSH
+
+    /**
+     * Agrega un elemento al final si hay lugar. Solo lo llama el productor.
+     * @param elemento El elemento a agregar
+     * @return <code>true</code> si se agrego, <code>false</code> si la cola
+     *         esta llena
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public boolean offer(T elemento){
+        if (elemento == null) {
+            throw new IllegalArgumentException("");
+        }
+        long fin = contadores[FINAL];
+        if (fin - contadores[COPIA_CABEZA] > mascara && fin - leeCabeza() > mascara) {
+            return false;
+        }
+        arreglo[(int)fin & mascara] = elemento;
+        CONTADORES.setRelease(contadores, FINAL, fin + 1);
+        return true;
+    }//FIN DE OFFER
+
+    /**
+     * Agrega todos los elementos del arreglo que quepan, en orden, y los
+     * publica juntos. Solo lo llama el productor.
+     * @param elementos Los elementos a agregar
+     * @return el numero de elementos que se agregaron
+     * @throws IllegalArgumentException si algun elemento que cabe es null; en
+     *         ese caso no se agrega ninguno
+     */
+    public int pushAll(T[] elementos){
+        return pushAll(elementos, 0, elementos.length);
+    }//FIN DE PUSHALL 1
+
+    /**
+     * Agrega los elementos de un segmento del arreglo que quepan, en orden, y
+     * los publica juntos. Solo lo llama el productor.
+     * @param elementos Los elementos a agregar
+     * @param desde La posicion del primer elemento
+     * @param cuantos El numero de elementos del segmento
+     * @return el numero de elementos que se agregaron
+     * @throws IllegalArgumentException si algun elemento que cabe es null; en
+     *         ese caso no se agrega ninguno
+     */
+    public int pushAll(T[] elementos, int desde, int cuantos){
+        Objects.checkFromIndexSize(desde, cuantos, elementos.length);
+        long fin = contadores[FINAL];
+        long libres = arreglo.length - (fin - contadores[COPIA_CABEZA]);
+        if (libres < cuantos) {
+            libres = arreglo.length - (fin - leeCabeza());
+        }
+        int n = (int)Math.min(libres, cuantos);
+        for (int i = 0; i < n; i++) {
+            T elemento = elementos[desde + i];
+            if (elemento == null) {
+                //Los elementos anteriores no se publicaron, pero se borran para
+                //que la cola no los mantenga vivos hasta sobrescribirlos
+                for (int j = 0; j < i; j++) {
+                    arreglo[(int)(fin + j) & mascara] = null;
+                }
+                throw new IllegalArgumentException("Arreglo con elementos null");
+            }
+            arreglo[(int)(fin + i) & mascara] = elemento;
+        }
+        if (n > 0) {
+            CONTADORES.setRelease(contadores, FINAL, fin + n);
+        }
+        return n;
+    }//FIN DE PUSHALL 2
+
+    /**
+     * Saca el elemento de la cabeza. Solo lo llama el consumidor.
+     * @return el elemento de la cabeza, o null si la cola es vacia
+     */
+    public T poll(){
+        long inicio = contadores[CABEZA];
+        if (inicio >= contadores[COPIA_FINAL] && inicio >= leeFinal()) {
+            return null;
+        }
+        int i = (int)inicio & mascara;
+        T valor = arreglo[i];
+        arreglo[i] = null;
+        CONTADORES.setRelease(contadores, CABEZA, inicio + 1);
+        return valor;
+    }//FIN DE POLL
+
+    /**
+     * Saca el elemento de la cabeza. Solo lo llama el consumidor.
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T pop(){
+        T valor = poll();
+        if (valor == null) {
+            throw new NoSuchElementException("");
+        }
+        return valor;
+    }//FIN DE POP
+
+    /**
+     * Saca hasta maximo elementos de la cabeza, en orden, y los guarda en el
+     * arreglo a partir de desde. Solo lo llama el consumidor.
+     * @param destino El arreglo donde se guardan los elementos
+     * @param desde La posicion del primer elemento en el destino
+     * @param maximo El numero maximo de elementos a sacar
+     * @return el numero de elementos que se sacaron
+     * @throws ArrayStoreException si un elemento no cabe en el tipo del
+     *         destino; los elementos anteriores ya salieron de la cola
+     */
+    public int drainTo(T[] destino, int desde, int maximo){
+        Objects.checkFromIndexSize(desde, maximo, destino.length);
+        long inicio = contadores[CABEZA];
+        long disponibles = contadores[COPIA_FINAL] - inicio;
+        if (disponibles < maximo) {
+            disponibles = leeFinal() - inicio;
+        }
+        int n = (int)Math.min(disponibles, maximo);
+        int k = 0;
+        try {
+            for (; k < n; k++) {
+                int i = (int)(inicio + k) & mascara;
+                destino[desde + k] = arreglo[i];
+                arreglo[i] = null;
+            }
+        }
+        finally {
+            //Si una escritura falla, la cabeza avanza solo sobre los entregados
+            if (k > 0) {
+                CONTADORES.setRelease(contadores, CABEZA, inicio + k);
+            }
+        }
+        return n;
+    }//FIN DE DRAINTO 1
+
+    /**
+     * Saca hasta maximo elementos de la cabeza, en orden, y los agrega a la
+     * coleccion recibida. Solo lo llama el consumidor. Si salida.add lanza
+     * una excepcion, los elementos que ya se agregaron salen de la cola y el
+     * que fallo se queda en la cabeza.
+     * @param salida La coleccion donde se agregan los elementos
+     * @param maximo El numero maximo de elementos a sacar
+     * @return el numero de elementos que se sacaron
+     * @throws IllegalArgumentException si maximo es negativo
+     */
+    public int drainTo(Collection<? super T> salida, int maximo){
+        if (maximo < 0) {
+            throw new IllegalArgumentException("maximo no puede ser negativo");
+        }
+        long inicio = contadores[CABEZA];
+        int n = (int)Math.min(leeFinal() - inicio, maximo);
+        int k = 0;
+        try {
+            for (; k < n; k++) {
+                int i = (int)(inicio + k) & mascara;
+                salida.add(arreglo[i]);
+                arreglo[i] = null;
+            }
+        }
+        finally {
+            //Si add lanza una excepcion, la cabeza avanza solo sobre los entregados
+            if (k > 0) {
+                CONTADORES.setRelease(contadores, CABEZA, inicio + k);
+            }
+        }
+        return n;
+    }//FIN DE DRAINTO 2
+
+    /**
+     * Regresa el elemento de la cabeza. Solo lo llama el consumidor.
+     * @return el elemento de la cabeza
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek(){
+        long inicio = contadores[CABEZA];
+        if (inicio >= contadores[COPIA_FINAL] && inicio >= leeFinal()) {
+            throw new NoSuchElementException("");
+        }
+        return arreglo[(int)inicio & mascara];
+    }//FIN DE PEEK
+
+    /**
+     * Regresa el elemento del final. Si el consumidor lo saca mientras
+     * tanto, se considera que la cola es vacia.
+     * @return el elemento del final
+     * @throws NoSuchElementException si la cola es vacia
+     */
+    @Override public T peek2(){
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        T valor = fin > (long)CONTADORES.getAcquire(contadores, CABEZA) ? arreglo[(int)(fin - 1) & mascara] : null;
+        if (valor == null) {
+            throw new NoSuchElementException("");
+        }
+        return valor;
+    }//FIN DE PEEK2
+
+    /**
+     * Regresa el numero de elementos. Con los dos hilos trabajando el
+     * resultado es aproximado.
+     * @return el numero de elementos
+     */
+    @Override public int size(){
+        long inicio = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        return (int)Math.max(0, Math.min(fin - inicio, arreglo.length));
+    }//FIN DE SIZE
+
+    /**
+     * Regresa el numero maximo de elementos que caben en la cola
+     * @return la capacidad
+     */
+    public int getCapacidad(){
+        return arreglo.length;
+    }//FIN DE GETCAPACIDAD
+
+    /**
+     * Vacia la cola. Solo lo llama el consumidor.
+     */
+    @Override public void empty(){
+        long inicio = contadores[CABEZA];
+        long fin = leeFinal();
+        for (long k = inicio; k < fin; k++) {
+            arreglo[(int)k & mascara] = null;
+        }
+        CONTADORES.setRelease(contadores, CABEZA, fin);
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return size() == 0;
+    }//FIN DE ISEMPTY
+
+    /**
+     * Regresa un clon de la estructura, con la misma capacidad.
+     *
+     * @return un clon de la estructura.
+     */
+    @Override public ColaSPSC<T> clone(){
+        ColaSPSC<T> nueva = new ColaSPSC<T>(arreglo.length);
+        long inicio = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        for (long k = inicio; k < fin; k++) {
+            T valor = arreglo[(int)k & mascara];
+            if (valor != null) {
+                nueva.offer(valor);
+            }
+        }
+        return nueva;
+    }//FIN DE CLONE
+
+    /**
+     * Metodo para imprimir una cola, desde la cabeza
+     * @return
+     */
+    @Override public String toString(){
+        StringBuilder regreso = new StringBuilder();
+        long inicio = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        for (long k = inicio; k < fin; k++) {
+            T valor = arreglo[(int)k & mascara];
+            if (valor != null) {
+                if (regreso.length() > 0) {
+                    regreso.append(", ");
+                }
+                regreso.append(valor.toString());
+            }
+        }
+        return regreso.toString();
+    }//FIN DE TOSTRING
+
+    @Override public boolean equals(Object o){
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        @SuppressWarnings("unchecked") ColaSPSC<T> otra = (ColaSPSC<T>)o;
+        long inicio1 = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        long fin1 = (long)CONTADORES.getAcquire(contadores, FINAL);
+        long inicio2 = (long)CONTADORES.getAcquire(otra.contadores, CABEZA);
+        long fin2 = (long)CONTADORES.getAcquire(otra.contadores, FINAL);
+        if (fin1 - inicio1 != fin2 - inicio2) {
+            return false;
+        }
+        for (long k = 0; k < fin1 - inicio1; k++) {
+            if (!Objects.equals(arreglo[(int)(inicio1 + k) & mascara],
+                                otra.arreglo[(int)(inicio2 + k) & otra.mascara])) {
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+    @Override public int hashCode(){
+        long inicio = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        int hash = 1;
+        for (long k = inicio; k < fin; k++) {
+            hash = 31 * hash + Objects.hashCode(arreglo[(int)k & mascara]);
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+    //El productor vuelve a leer la cabeza y actualiza su copia
+    private long leeCabeza(){
+        long inicio = (long)CONTADORES.getAcquire(contadores, CABEZA);
+        contadores[COPIA_CABEZA] = inicio;
+        return inicio;
+    }//FIN DE LEECABEZA
+
+    //El consumidor vuelve a leer el final y actualiza su copia
+    private long leeFinal(){
+        long fin = (long)CONTADORES.getAcquire(contadores, FINAL);
+        contadores[COPIA_FINAL] = fin;
+        return fin;
+    }//FIN DE LEEFINAL
+
+}
@@ -0,0 +1,70 @@
+package src.edd;
+
+/**
+ * Clase para una fotografia de los contadores de un monticulo. Los valores no
+ * cambian despues de crearla.
+ */
+public class EstadisticasMonticulo {
+
+    /* Numero de comparaciones entre elementos */
+    private final long comparaciones;
+    /* Numero de elementos que se movieron un nivel al recorrer el arbol */
+    private final long movimientos;
+    /* Numero de recorridos hacia arriba o hacia abajo */
+    private final long recorridos;
+    /* El mayor numero de niveles que se movio un elemento en un recorrido */
+    private final int profundidadMaxima;
+    /* Numero de veces que el arreglo cambio de tamawo */
+    private final long redimensionamientos;
+    /* El mayor numero de elementos que tuvo el monticulo */
+    private final int tamawoMaximo;
+
+    public EstadisticasMonticulo(long comparaciones, long movimientos, long recorridos,
+                                 int profundidadMaxima, long redimensionamientos, int tamawoMaximo) {
+        this.comparaciones = comparaciones;
+        this.movimientos = movimientos;
+        this.recorridos = recorridos;
+        this.profundidadMaxima = profundidadMaxima;
+        this.redimensionamientos = redimensionamientos;
+        this.tamawoMaximo = tamawoMaximo;
+    }//FIN DE CONSTRUCTOR
+
+    public long getComparaciones() {
+        return comparaciones;
+    }
+
+    public long getMovimientos() {
+        return movimientos;
+    }
+
+    public long getRecorridos() {
+        return recorridos;
+    }
+
+    /**
+     * Regresa el promedio de niveles que se movio un elemento por recorrido
+     * @return la profundidad promedio
+     */
+    public double getProfundidadPromedio() {
+        return recorridos == 0 ? 0 : (double)movimientos / recorridos;
+    }
+
+    public int getProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+
+    public long getRedimensionamientos() {
+        return redimensionamientos;
+    }
+
+    public int getTamawoMaximo() {
+        return tamawoMaximo;
+    }
+
+    @Override public String toString() {
+        return "comparaciones=" + comparaciones + ", movimientos=" + movimientos
+            + ", recorridos=" + recorridos + ", profundidadMaxima=" + profundidadMaxima
+            + ", redimensionamientos=" + redimensionamientos + ", tamawoMaximo=" + tamawoMaximo;
+    }//FIN DE TOSTRING
+
+}
@@ -0,0 +1,200 @@
+package src.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para calcular la mediana, o cualquier cuantil, de un flujo de
+ * valores. La mitad baja de los valores se guarda en un MonticuloMaximo y la
+ * mitad alta en un MonticuloMinimo, asi que el cuantil se lee en O(1) en las
+ * raices y cada valor nuevo cuesta O(log n).
+ *
+ * Con una ventana de tamawo fijo solo cuentan los ultimos valores: el valor
+ * que sale de la ventana se quita de su monticulo con delete(T), que usa su
+ * indice y cuesta O(log n). Sin ventana se guardan todos los valores.
+ */
+public class MedianaMovil {
+
+    /**
+     * Clase para los valores guardados en los monticulos
+     */
+    private static final class Entrada implements ComparableIndexable<Entrada> {
+        /* El valor */
+        private double valor;
+        /* El indice en su monticulo */
+        private int indice;
+
+        private Entrada(double valor){
+            this.valor = valor;
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Entrada entrada){
+            return Double.compare(valor, entrada.valor);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE ENTRADA
+
+    /* Los valores hasta el cuantil, la raiz es el mayor */
+    private final MonticuloMaximo<Entrada> bajos;
+    /* Los valores despues del cuantil, la raiz es el menor */
+    private final MonticuloMinimo<Entrada> altos;
+    /* El cuantil que se sigue, entre 0 y 1 */
+    private final double cuantil;
+    /* Los valores de la ventana en orden de llegada, null si no hay ventana */
+    private final Entrada[] ventana;
+    /* La posicion del valor mas viejo de la ventana */
+    private int inicio;
+
+    /**
+     * Constructor para la mediana de todo el flujo
+     */
+    public MedianaMovil(){
+        this(0, 0.5);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor para la mediana de los ultimos valores
+     * @param ventana El numero de valores que cuentan, 0 para todos
+     * @throws IllegalArgumentException si la ventana es negativa
+     */
+    public MedianaMovil(int ventana){
+        this(ventana, 0.5);
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Constructor para un cuantil de los ultimos valores. El cuantil q es el
+     * valor en la posicion ceil(q*n) de los n valores ordenados.
+     * @param ventana El numero de valores que cuentan, 0 para todos
+     * @param cuantil El cuantil, por ejemplo 0.99 para el percentil 99
+     * @throws IllegalArgumentException si la ventana es negativa o el
+     *         cuantil no esta en (0, 1)
+     */
+    public MedianaMovil(int ventana, double cuantil){
+        if(ventana < 0){
+            throw new IllegalArgumentException("La ventana no puede ser negativa");
+        }
+        if(!(cuantil > 0 && cuantil < 1)){
+            throw new IllegalArgumentException("El cuantil debe estar en (0, 1)");
+        }
+        this.cuantil = cuantil;
+        this.ventana = ventana == 0 ? null : new Entrada[ventana];
+        int capacidad = ventana == 0 ? 100 : ventana;
+        bajos = new MonticuloMaximo<Entrada>(2, capacidad);
+        altos = new MonticuloMinimo<Entrada>(2, capacidad);
+    }//FIN DE CONSTRUCTOR 3
+
+    /**
+     * Agrega un valor al flujo. Si la ventana esta llena, sale su valor mas
+     * viejo.
+     * @param valor El valor
+     * @throws IllegalArgumentException si el valor es NaN
+     */
+    public void add(double valor){
+        if(Double.isNaN(valor)){
+            throw new IllegalArgumentException("El valor no puede ser NaN");
+        }
+        Entrada entrada;
+        if(ventana != null && size() == ventana.length){
+            //La entrada que sale de la ventana se reutiliza para el valor nuevo
+            entrada = ventana[inicio];
+            if(!bajos.delete(entrada)){
+                altos.delete(entrada);
+            }
+            entrada.valor = valor;
+            inicio = (inicio + 1) % ventana.length;
+        }
+        else{
+            entrada = new Entrada(valor);
+            if(ventana != null){
+                ventana[(inicio + size()) % ventana.length] = entrada;
+            }
+        }
+        if(!bajos.isEmpty() && valor <= bajos.get(0).valor){
+            bajos.add(entrada);
+        }
+        else{
+            altos.add(entrada);
+        }
+        balancea();
+    }//FIN DE ADD
+
+    //Deja en bajos exactamente los ceil(q*n) valores menores
+    private void balancea(){
+        int n = size();
+        int k = Math.max(1, (int)Math.ceil(cuantil * n));
+        while(bajos.size() > k){
+            altos.add(bajos.delete());
+        }
+        while(bajos.size() < k){
+            bajos.add(altos.delete());
+        }
+    }//FIN DE BALANCEA
+
+    /**
+     * Regresa el cuantil de los valores en O(1)
+     * @return el valor en la posicion ceil(q*n) de los valores ordenados
+     * @throws NoSuchElementException si no hay valores
+     */
+    public double getCuantil(){
+        if(bajos.isEmpty()){
+            throw new NoSuchElementException("No hay valores");
+        }
+        return bajos.get(0).valor;
+    }//FIN DE GETCUANTIL
+
+    /**
+     * Regresa la mediana de los valores en O(1). Si hay un numero par de
+     * valores, es el promedio de los dos de en medio.
+     * @return la mediana
+     * @throws NoSuchElementException si no hay valores
+     * @throws IllegalStateException si se sigue un cuantil distinto de 0.5
+     */
+    public double mediana(){
+        if(cuantil != 0.5){
+            throw new IllegalStateException("Solo se sigue el cuantil "+cuantil);
+        }
+        double medio = getCuantil();
+        if(altos.size() == bajos.size()){
+            return medio + (altos.get(0).valor - medio) / 2;
+        }
+        return medio;
+    }//FIN DE MEDIANA
+
+    /**
+     * Regresa el numero de valores que cuentan
+     * @return el numero de valores
+     */
+    public int size(){
+        return bajos.size() + altos.size();
+    }//FIN DE SIZE
+
+    public boolean isEmpty(){
+        return size() == 0;
+    }//FIN DE ISEMPTY
+
+    public void empty(){
+        bajos.empty();
+        altos.empty();
+        inicio = 0;
+        if(ventana != null){
+            for(int i = 0; i < ventana.length; i++){
+                ventana[i] = null;
+            }
+        }
+    }//FIN DE EMPTY
+
+    @Override public String toString(){
+        if(isEmpty()){
+            return "";
+        }
+        return "n=" + size() + ", cuantil " + cuantil + "=" + getCuantil();
+    }//FIN DE TOSTRING
+
+}
@@ -0,0 +1,128 @@
+package src.edd;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Clase para contar las operaciones de un monticulo. El medidor se elige al
+ * construir el monticulo; los monticulos sin medidor usan {@link #NINGUNO}.
+ * Con NINGUNO el monticulo no llama a los contadores y solo revisa un boolean
+ * por operacion, que es barato pero no gratis. Con un medidor real cada
+ * comparacion y cada recorrido se cuentan; BenchMonticulo compara los dos
+ * casos en la prueba "sin medidor / con medidor".
+ *
+ * Los contadores no estan sincronizados: se actualizan desde el hilo que usa
+ * el monticulo y las lecturas desde otros hilos pueden estar atrasadas.
+ */
+public class MedidorMonticulo implements MedidorMonticuloMBean {
+
+    /**
+     * Medidor que no cuenta nada
+     */
+    private static final class SinMedir extends MedidorMonticulo {
+        @Override void comparacion() {}
+        @Override void recorrido(int niveles) {}
+        @Override void redimension() {}
+        @Override void tamawo(int n) {}
+    }//FIN DE CLASE SINMEDIR
+
+    /* El medidor de los monticulos que no se miden */
+    public static final MedidorMonticulo NINGUNO = new SinMedir();
+
+    private long comparaciones;
+    private long movimientos;
+    private long recorridos;
+    private int profundidadMaxima;
+    private long redimensionamientos;
+    private int tamawoMaximo;
+
+    //Cuenta una comparacion
+    void comparacion() {
+        comparaciones++;
+    }//FIN DE COMPARACION
+
+    //Cuenta un recorrido en el que el elemento se movio el numero de niveles recibido
+    void recorrido(int niveles) {
+        recorridos++;
+        movimientos += niveles;
+        if (niveles > profundidadMaxima) {
+            profundidadMaxima = niveles;
+        }
+    }//FIN DE RECORRIDO
+
+    //Cuenta un cambio de tamawo del arreglo
+    void redimension() {
+        redimensionamientos++;
+    }//FIN DE REDIMENSION
+
+    //Registra el numero de elementos actual
+    void tamawo(int n) {
+        if (n > tamawoMaximo) {
+            tamawoMaximo = n;
+        }
+    }//FIN DE TAMAWO
+
+    /**
+     * Regresa una fotografia de los contadores
+     * @return las estadisticas
+     */
+    public EstadisticasMonticulo instantanea() {
+        return new EstadisticasMonticulo(comparaciones, movimientos, recorridos,
+                                         profundidadMaxima, redimensionamientos, tamawoMaximo);
+    }//FIN DE INSTANTANEA
+
+    /**
+     * Registra el medidor en el servidor de MBeans de la plataforma con el
+     * nombre src.edd:type=Monticulo,name=nombre
+     * @param nombre El nombre del monticulo
+     * @throws IllegalStateException si no se puede registrar
+     */
+    public void registra(String nombre) {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, new ObjectName("src.edd:type=Monticulo,name=" + ObjectName.quote(nombre)));
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("No se pudo registrar el medidor " + nombre, e);
+        }
+    }//FIN DE REGISTRA
+
+    @Override public long getComparaciones() {
+        return comparaciones;
+    }
+
+    @Override public long getMovimientos() {
+        return movimientos;
+    }
+
+    @Override public long getRecorridos() {
+        return recorridos;
+    }
+
+    @Override public double getProfundidadPromedio() {
+        return recorridos == 0 ? 0 : (double)movimientos / recorridos;
+    }
+
+    @Override public int getProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+
+    @Override public long getRedimensionamientos() {
+        return redimensionamientos;
+    }
+
+    @Override public int getTamawoMaximo() {
+        return tamawoMaximo;
+    }
+
+    @Override public void reinicia() {
+        comparaciones = 0;
+        movimientos = 0;
+        recorridos = 0;
+        profundidadMaxima = 0;
+        redimensionamientos = 0;
+        tamawoMaximo = 0;
+    }//FIN DE REINICIA
+
+}
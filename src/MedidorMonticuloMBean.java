@@ -0,0 +1,27 @@
+package src.edd;
+
+/**
+ * Interfaz para consultar los contadores de un monticulo por JMX.
+ */
+public interface MedidorMonticuloMBean {
+
+    public long getComparaciones();
+
+    public long getMovimientos();
+
+    public long getRecorridos();
+
+    public double getProfundidadPromedio();
+
+    public int getProfundidadMaxima();
+
+    public long getRedimensionamientos();
+
+    public int getTamawoMaximo();
+
+    /**
+     * Pone todos los contadores en cero
+     */
+    public void reinicia();
+
+}
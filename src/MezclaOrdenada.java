@@ -0,0 +1,124 @@
+package src.edd;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para mezclar k secuencias ya ordenadas, por ejemplo listas que
+ * regreso Lista.mergeSort, sin crear listas intermedias. Se guarda un cursor
+ * por secuencia en un monticulo cuya raiz es el cursor con el menor elemento,
+ * asi que cada elemento cuesta O(log k). Los elementos se leen de las
+ * secuencias solo conforme se piden.
+ *
+ * La mezcla es estable: entre elementos iguales sale primero el de la
+ * secuencia que aparecio antes.
+ */
+public class MezclaOrdenada<T> implements Iterator<T> {
+
+    /**
+     * Clase para los cursores de cada secuencia
+     */
+    private static final class Cursor<T> implements ComparableIndexable<Cursor<T>> {
+        /* Lo que falta de la secuencia */
+        private final Iterator<? extends T> iterador;
+        /* La posicion de la secuencia entre las entradas, para desempatar */
+        private final int orden;
+        /* El comparador de los elementos */
+        private final Comparator<? super T> comparador;
+        /* El elemento actual de la secuencia */
+        private T actual;
+        /* El indice en el monticulo */
+        private int indice;
+
+        private Cursor(Iterator<? extends T> iterador, int orden, Comparator<? super T> comparador){
+            this.iterador = iterador;
+            this.orden = orden;
+            this.comparador = comparador;
+            this.actual = iterador.next();
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Cursor<T> cursor){
+            int c = comparador.compare(actual, cursor.actual);
+            return c != 0 ? c : Integer.compare(orden, cursor.orden);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE CURSOR
+
+    /* Los cursores de las secuencias que no se han terminado */
+    private final MonticuloMinimo<Cursor<T>> cursores;
+
+    /**
+     * Constructor que recibe las secuencias ordenadas y el comparador con el
+     * que estan ordenadas
+     * @param secuencias Las secuencias, cada una ordenada segun el comparador
+     * @param comparador El comparador
+     * @throws IllegalArgumentException si las secuencias o el comparador son null
+     */
+    public MezclaOrdenada(Iterable<? extends Iterable<? extends T>> secuencias, Comparator<? super T> comparador){
+        if(secuencias == null || comparador == null){
+            throw new IllegalArgumentException("Las secuencias y el comparador no pueden ser null");
+        }
+        Lista<Cursor<T>> iniciales = new Lista<Cursor<T>>();
+        int orden = 0;
+        for(Iterable<? extends T> secuencia : secuencias){
+            Iterator<? extends T> iterador = secuencia.iterator();
+            if(iterador.hasNext()){
+                iniciales.add(new Cursor<T>(iterador, orden, comparador));
+            }
+            orden++;
+        }
+        cursores = new MonticuloMinimo<Cursor<T>>(iniciales, iniciales.size());
+    }//FIN DE CONSTRUCTOR
+
+    /**
+     * Regresa una lista con la mezcla de las secuencias
+     * @param secuencias Las secuencias, cada una ordenada segun el comparador
+     * @param comparador El comparador
+     * @return la lista ordenada
+     */
+    public static <T> Lista<T> mezcla(Iterable<? extends Iterable<? extends T>> secuencias, Comparator<? super T> comparador){
+        Lista<T> lista = new Lista<T>();
+        MezclaOrdenada<T> mezcla = new MezclaOrdenada<T>(secuencias, comparador);
+        while(mezcla.hasNext()){
+            lista.add(mezcla.next());
+        }
+        return lista;
+    }//FIN DE MEZCLA
+
+    @Override public boolean hasNext(){
+        return !cursores.isEmpty();
+    }//FIN DE HASNEXT
+
+    /**
+     * Regresa el siguiente elemento de la mezcla en O(log k)
+     * @return el menor elemento que falta
+     * @throws NoSuchElementException si ya no hay elementos
+     */
+    @Override public T next(){
+        if(!hasNext()){
+            throw new NoSuchElementException("No hay, no existe");
+        }
+        Cursor<T> cursor = cursores.get(0);
+        T elemento = cursor.actual;
+        if(cursor.iterador.hasNext()){
+            //El cursor avanza y solo tiene que bajar desde la raiz
+            cursor.actual = cursor.iterador.next();
+            cursores.increaseKey(cursor);
+        }
+        else{
+            cursor.actual = null;
+            cursores.delete();
+        }
+        return elemento;
+    }//FIN DE NEXT
+
+}
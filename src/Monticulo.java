@@ -0,0 +1,942 @@
+package src.edd;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import src.edd.Collection;
+
+/**
+ * Clase para monticulos cuyo orden lo define un comparador. El elemento en la
+ * raiz es el primero segun el comparador: con el orden natural es un
+ * monticulo minimo y con el orden inverso es un monticulo maximo.
+ */
+public class Monticulo<T extends ComparableIndexable<T>> implements Collection<T>{
+
+    /**
+     * Clase para iteradores de monticulos
+     */
+    private class Iterador implements Iterator<T>{
+
+        private int indice;
+
+        @Override public boolean hasNext(){
+            while(indice < elementos && lapidas != null && lapidas[indice]){
+                indice++;
+            }
+            return indice < elementos;
+        }
+
+        @Override public T next(){
+            if (hasNext()) {
+                return arbol[indice++];
+            }
+            throw new NoSuchElementException("No hay, no existe");
+        }
+    }//FIN DE CLASE ITERADOR
+
+    /**
+     * Clase para iteradores en orden que no modifican el monticulo. Guarda en
+     * un monticulo binario auxiliar los indices de los candidatos a salir: al
+     * principio solo la raiz, y cada vez que sale un elemento entran sus
+     * hijos. Sacar los primeros k elementos cuesta O(k log k) comparaciones
+     * sin copiar el arreglo.
+     */
+    private class IteradorOrdenado implements Iterator<T>{
+
+        /* Los indices de los candidatos, ordenados como monticulo binario */
+        private int[] candidatos;
+        /* Numero de candidatos */
+        private int n;
+
+        public IteradorOrdenado(){
+            candidatos = new int[Math.min(elementos, 16) + 1];
+            if(elementos > 0){
+                candidatos[n++] = 0;
+            }
+            avanzaLapidas();
+        }
+
+        @Override public boolean hasNext(){
+            return n > 0;
+        }
+
+        @Override public T next(){
+            if (!hasNext()) {
+                throw new NoSuchElementException("No hay, no existe");
+            }
+            T e = arbol[saca()];
+            avanzaLapidas();
+            return e;
+        }
+
+        //Saca el menor candidato y mete a sus hijos
+        private int saca(){
+            int i = candidatos[0];
+            candidatos[0] = candidatos[--n];
+            baja(0);
+            int fin = (int)Math.min((long)aridad*i + aridad + 1, elementos);
+            for(int h = aridad*i +1; h < fin; h++){
+                mete(h);
+            }
+            return i;
+        }
+
+        //Descarta los candidatos borrados con el borrado perezoso, pero no a sus hijos
+        private void avanzaLapidas(){
+            while(n > 0 && lapidas != null && lapidas[candidatos[0]]){
+                saca();
+            }
+        }
+
+        private void mete(int indice){
+            if(n == candidatos.length){
+                candidatos = Arrays.copyOf(candidatos, n * 2);
+            }
+            int j = n++;
+            while(j > 0){
+                int padre = (j-1) / 2;
+                if(compara(arbol[indice], arbol[candidatos[padre]]) >= 0){
+                    break;
+                }
+                candidatos[j] = candidatos[padre];
+                j = padre;
+            }
+            candidatos[j] = indice;
+        }
+
+        private void baja(int j){
+            int indice = candidatos[j];
+            while(2*j +1 < n){
+                int hijo = 2*j +1;
+                if(hijo +1 < n && compara(arbol[candidatos[hijo +1]], arbol[candidatos[hijo]]) < 0){
+                    hijo++;
+                }
+                if(compara(arbol[candidatos[hijo]], arbol[indice]) >= 0){
+                    break;
+                }
+                candidatos[j] = candidatos[hijo];
+                j = hijo;
+            }
+            candidatos[j] = indice;
+        }
+    }//FIN DE CLASE ITERADORORDENADO
+
+    /**
+     * Clase para Adaptadores
+     */
+    protected static class Adaptador<T extends Comparable<T>> implements ComparableIndexable<Adaptador<T>>{
+        /* El elemento. */
+        protected T elemento;
+        /* El indice. */
+        private int indice;
+
+        /* Crea un nuevo comparable indexable. */
+        public Adaptador(T elemento) {
+            this.elemento = elemento;
+            this.indice = -1;
+        }
+
+        /* Regresa el indice. */
+        @Override
+        public int getIndice() {
+            return this.indice;
+        }
+
+        /* Define el indice. */
+        @Override
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Compara un indexable con otro. */
+        @Override
+        public int compareTo(Adaptador<T> adaptador) {
+            return this.elemento.compareTo(adaptador.elemento);
+        }
+
+        public String toString(){
+            return "A{"+elemento+" "+indice+"}";
+        }
+
+        public T getElemento(){
+            return elemento;
+        }
+    }//FIN DE CLASE ADAPTADOR
+
+
+    /* numero de elementos en el arreglo */
+    protected int elementos;
+    /* Nuestro arbol representado como arreglo */
+    protected T[] arbol;
+    /* Numero de hijos de cada vertice */
+    protected int aridad;
+    /* El comparador que define el orden del monticulo */
+    protected Comparator<? super T> comparador;
+    /* Capacidad por debajo de la cual el arreglo ya no se encoge */
+    private int capacidadMinima;
+    /* Capacidad reservada con aseguraCapacidad, que tampoco se devuelve al
+       encoger hasta que se llama recortaCapacidad */
+    private int capacidadReservada;
+    /* Los contadores de operaciones, MedidorMonticulo.NINGUNO si no se miden */
+    protected final MedidorMonticulo medidor;
+    /* Si el medidor cuenta algo. Los contadores se llaman solo si es true, asi
+       que sin medidor cada operacion cuesta una rama que siempre va al mismo
+       lado y no una llamada a un metodo vacio */
+    private final boolean mide;
+    /* Marca las posiciones del arbol cuyos elementos estan borrados, null si
+       no hay borrado perezoso. Las marcas se mueven junto con los elementos. */
+    private boolean[] lapidas;
+    /* Numero de posiciones marcadas */
+    private int numLapidas;
+    /* Fraccion de lapidas a partir de la cual se purga el monticulo */
+    private double fraccionLapidas;
+
+    /* Capacidad del arreglo cuando no se indica otra */
+    protected static final int CAPACIDAD_INICIAL = 100;
+
+
+    /* Con esto podemos crear arreglos genericos sin que el compilador marque error */
+    @SuppressWarnings("unchecked")
+    protected T[] nuevoArreglo(int n){
+        return (T[])(new ComparableIndexable[n]);
+    }//FIN DE NUEVOARREGLO
+
+    /**
+     * Constructor que recibe el comparador y el numero de hijos de cada vertice
+     * @param comparador El comparador que define el orden
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @throws IllegalArgumentException si la aridad es menor a 2
+     */
+    public Monticulo(Comparator<? super T> comparador, int aridad){
+        this(comparador, aridad, CAPACIDAD_INICIAL);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe el comparador, el numero de hijos de cada vertice
+     * y la capacidad inicial del arreglo. El arreglo nunca se encoge por
+     * debajo de esa capacidad.
+     * @param comparador El comparador que define el orden
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial
+     * @throws IllegalArgumentException si la aridad es menor a 2 o la
+     *         capacidad es menor a 1
+     */
+    public Monticulo(Comparator<? super T> comparador, int aridad, int capacidad){
+        this(comparador, aridad, capacidad, MedidorMonticulo.NINGUNO);
+    }//FIN DE CONSTRUCTOR CAPACIDAD
+
+    /**
+     * Constructor que ademas recibe un medidor que cuenta las comparaciones,
+     * los recorridos, los cambios de tamawo y el tamawo maximo del monticulo
+     * @param comparador El comparador que define el orden
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial
+     * @param medidor El medidor, o MedidorMonticulo.NINGUNO para no medir
+     * @throws IllegalArgumentException si la aridad es menor a 2, la
+     *         capacidad es menor a 1 o el medidor es null
+     */
+    public Monticulo(Comparator<? super T> comparador, int aridad, int capacidad, MedidorMonticulo medidor){
+        if(capacidad < 1){
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        if(medidor == null){
+            throw new IllegalArgumentException("El medidor no puede ser null");
+        }
+        this.comparador = verificaComparador(comparador);
+        this.aridad = verificaAridad(aridad);
+        this.capacidadMinima = capacidad;
+        this.medidor = medidor;
+        this.mide = medidor != MedidorMonticulo.NINGUNO;
+        elementos = 0;
+        arbol = nuevoArreglo(capacidad);
+    }//FIN DE CONSTRUCTOR MEDIDOR
+
+    /**
+     * Constructor que recibe un iterable, el comparador y el numero de hijos
+     * de cada vertice
+     * @param iterable
+     * @param n
+     * @param comparador
+     * @param aridad
+     */
+    public Monticulo(Iterable<T> iterable, int n, Comparator<? super T> comparador, int aridad){
+        this.comparador = verificaComparador(comparador);
+        this.aridad = verificaAridad(aridad);
+        this.capacidadMinima = CAPACIDAD_INICIAL;
+        this.medidor = MedidorMonticulo.NINGUNO;
+        this.mide = false;
+        elementos = n;
+        arbol = nuevoArreglo(n);
+        int i = 0;
+        for (T e : iterable) {
+           arbol[i] = e;
+           arbol[i].setIndice(i);
+           i ++;
+        }
+        heapify();
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Constructor que se queda con el arreglo de otro monticulo y lo reordena
+     * con el comparador recibido. El otro monticulo queda vacio y el nuevo
+     * usa su medidor.
+     * @param otro El monticulo del que se toman los elementos
+     * @param comparador
+     */
+    protected Monticulo(Monticulo<T> otro, Comparator<? super T> comparador){
+        otro.purga();
+        this.comparador = verificaComparador(comparador);
+        this.aridad = otro.aridad;
+        this.capacidadMinima = otro.capacidadMinima;
+        this.capacidadReservada = otro.capacidadReservada;
+        this.medidor = otro.medidor;
+        this.mide = otro.mide;
+        this.arbol = otro.arbol;
+        this.elementos = otro.elementos;
+        otro.arbol = otro.nuevoArreglo(otro.capacidadMinima);
+        otro.elementos = 0;
+        if(otro.lapidas != null){
+            otro.lapidas = new boolean[otro.capacidadMinima];
+        }
+        heapify();
+    }//FIN DE CONSTRUCTOR 3
+
+    //Metodo para validar la aridad recibida
+    private static int verificaAridad(int aridad){
+        if(aridad < 2){
+            throw new IllegalArgumentException("La aridad debe ser al menos 2");
+        }
+        return aridad;
+    }//FIN DE VERIFICAARIDAD
+
+    //Metodo para validar el comparador recibido
+    private static <T> Comparator<T> verificaComparador(Comparator<T> comparador){
+        if(comparador == null){
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        return comparador;
+    }//FIN DE VERIFICACOMPARADOR
+
+    //Compara dos elementos segun el orden del monticulo
+    protected int compara(T a, T b){
+        if(mide){
+            medidor.comparacion();
+        }
+        return comparador.compare(a, b);
+    }//FIN DE COMPARA
+
+    /**
+     * Cambia el orden del monticulo y lo reconstruye en O(n) sobre el mismo
+     * arreglo
+     * @param comparador El nuevo comparador
+     */
+    public void reordena(Comparator<? super T> comparador){
+        this.comparador = verificaComparador(comparador);
+        heapify();
+        limpiaRaiz();
+    }//FIN DE REORDENA
+
+    //Construye el monticulo de abajo hacia arriba (algoritmo de Floyd)
+    protected void heapify(){
+        //Con menos de dos elementos no hay nada que acomodar, y (elementos-2)/aridad
+        //se redondea a 0 en vez de -1 cuando la aridad es mayor a 2
+        if(elementos < 2){
+            return;
+        }
+        for(int j = (elementos-2) / aridad; j >= 0; j--){
+            recorreAbajo(j);
+        }
+    }//FIN DE HEAPIFY
+
+    /**
+     * Metodo para awadir un elemento al heap
+     * @param elemento El elemento a awadir
+     */
+    @Override public void add(T elemento){
+        if(esLapida(elemento)){
+            //El elemento estaba borrado pero sigue en el arreglo, solo se revive
+            lapidas[elemento.getIndice()] = false;
+            numLapidas--;
+            actualiza(elemento);
+            return;
+        }
+        if (elementos == arbol.length) {
+            duplicaSize();
+        }
+        elemento.setIndice(elementos);
+        arbol[elementos] = elemento;
+        elementos++;
+        if(mide){
+            medidor.tamawo(elementos);
+        }
+        recorreArriba(elementos - 1);
+    }//FIN DE ADD
+
+    /**
+     * Agrega todos los elementos de una coleccion al monticulo. El arreglo
+     * crece una sola vez y, si el lote es mas grande que el monticulo, se
+     * reconstruye todo en O(n) en lugar de subir cada elemento.
+     * @param coleccion Los elementos a agregar
+     * @throws IllegalArgumentException si algun elemento es null
+     */
+    public void addAll(Collection<T> coleccion){
+        purga();
+        int anteriores = elementos;
+        crece(elementos + coleccion.size());
+        for(T e : coleccion){
+            if(e == null || elementos == arbol.length){
+                descartaDesde(anteriores);
+                throw new IllegalArgumentException("Coleccion con elementos null o tamawo incorrecto");
+            }
+            arbol[elementos] = e;
+            e.setIndice(elementos);
+            elementos++;
+        }
+        acomodaLote(anteriores);
+    }//FIN DE ADDALL(COLECCION)
+
+    /**
+     * Agrega todos los elementos de un arreglo al monticulo. El arreglo
+     * crece una sola vez y, si el lote es mas grande que el monticulo, se
+     * reconstruye todo en O(n) en lugar de subir cada elemento.
+     * @param arreglo Los elementos a agregar
+     * @throws IllegalArgumentException si algun elemento es null
+     */
+    public void addAll(T[] arreglo){
+        for(T e : arreglo){
+            if(e == null){
+                throw new IllegalArgumentException("Arreglo con elementos null");
+            }
+        }
+        purga();
+        int anteriores = elementos;
+        crece(elementos + arreglo.length);
+        for(T e : arreglo){
+            arbol[elementos] = e;
+            e.setIndice(elementos);
+            elementos++;
+        }
+        acomodaLote(anteriores);
+    }//FIN DE ADDALL(ARREGLO)
+
+    //Restablece la condicion de heap despues de pegar un lote al final del arreglo
+    private void acomodaLote(int anteriores){
+        if(mide){
+            medidor.tamawo(elementos);
+        }
+        if(elementos - anteriores > anteriores){
+            heapify();
+        }
+        else{
+            for(int i = anteriores; i < elementos; i++){
+                recorreArriba(i);
+            }
+        }
+    }//FIN DE ACOMODALOTE
+
+    //Quita los elementos agregados a partir de la posicion inicio
+    private void descartaDesde(int inicio){
+        for(int i = inicio; i < elementos; i++){
+            arbol[i].setIndice(-1);
+            arbol[i] = null;
+        }
+        elementos = inicio;
+    }//FIN DE DESCARTADESDE
+
+    /**
+     * Hace que el arreglo tenga lugar para al menos n elementos. Si tiene que
+     * crecer, al menos duplica su tamawo. La capacidad queda reservada: al
+     * eliminar elementos el arreglo no se encoge por debajo de n hasta que se
+     * llama recortaCapacidad.
+     * @param n El numero de elementos
+     */
+    public void aseguraCapacidad(int n){
+        capacidadReservada = Math.max(capacidadReservada, n);
+        crece(n);
+    }//FIN DE ASEGURACAPACIDAD
+
+    //Hace que el arreglo tenga lugar para n elementos sin reservar la capacidad
+    private void crece(int n){
+        if(n <= arbol.length){
+            return;
+        }
+        cambiaCapacidad(Math.max(n, arbol.length * 2));
+    }//FIN DE CRECE
+
+    /**
+     * Encoge el arreglo al numero de elementos, sin bajar de la capacidad
+     * inicial, y libera la capacidad reservada con aseguraCapacidad
+     */
+    public void recortaCapacidad(){
+        capacidadReservada = 0;
+        int capacidad = Math.max(elementos, capacidadMinima);
+        if(capacidad < arbol.length){
+            cambiaCapacidad(capacidad);
+        }
+    }//FIN DE RECORTACAPACIDAD
+
+    /**
+     * Regresa una fotografia de los contadores del medidor del monticulo.
+     * Si el monticulo no se mide todos los valores son cero.
+     * @return las estadisticas
+     */
+    public EstadisticasMonticulo estadisticas(){
+        return medidor.instantanea();
+    }//FIN DE ESTADISTICAS
+
+    /**
+     * Regresa el tamawo actual del arreglo del monticulo
+     * @return la capacidad
+     */
+    public int capacidad(){
+        return arbol.length;
+    }//FIN DE CAPACIDAD
+
+    //Metodo para duplicar el tamawo del arreglo de nuestro arbol
+    private void duplicaSize(){
+        crece(elementos + 1);
+    }//FIN DE DUPLICASIZE
+
+    //Encoge el arreglo a la mitad cuando queda ocupado a lo mas en una cuarta parte.
+    //Despues de encogerse queda a la mitad, asi que crecer o encoger de nuevo
+    //requiere duplicar o partir a la mitad los elementos. Nunca baja de la
+    //capacidad inicial ni de la reservada.
+    private void reduceSiSobra(){
+        int piso = pisoCapacidad();
+        if(arbol.length > piso && elementos <= arbol.length / 4){
+            cambiaCapacidad(Math.max(arbol.length / 2, piso));
+        }
+    }//FIN DE REDUCESISOBRA
+
+    //La capacidad por debajo de la cual el arreglo no se encoge solo
+    private int pisoCapacidad(){
+        return Math.max(capacidadMinima, capacidadReservada);
+    }//FIN DE PISOCAPACIDAD
+
+    //Copia los elementos a un arreglo de la capacidad recibida
+    private void cambiaCapacidad(int capacidad){
+        T[] arr = nuevoArreglo(capacidad);
+        System.arraycopy(arbol, 0, arr, 0, elementos);
+        this.arbol = arr;
+        if(lapidas != null){
+            lapidas = Arrays.copyOf(lapidas, capacidad);
+        }
+        if(mide){
+            medidor.redimension();
+        }
+    }//FIN DE CAMBIACAPACIDAD
+
+    //Metodo para recorrer el arbol hacia arriba y verificar que se cumpla la condicion de heap.
+    //Los padres bajan al hueco y el elemento se escribe una sola vez al final.
+    protected void recorreArriba(int i){
+        T elemento = arbol[i];
+        boolean[] marcas = lapidas;
+        boolean marca = marcas != null && marcas[i];
+        int niveles = 0;
+        while(i > 0){
+            int padre = (i-1) / aridad;
+            T p = arbol[padre];
+            if(compara(elemento, p) >= 0){
+                break;
+            }
+            arbol[i] = p;
+            p.setIndice(i);
+            if(marcas != null){
+                marcas[i] = marcas[padre];
+            }
+            i = padre;
+            niveles++;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+        if(marcas != null){
+            marcas[i] = marca;
+        }
+        if(mide){
+            medidor.recorrido(niveles);
+        }
+    }//FIN DE RECORREARRIBA
+
+    /**
+     * Elimina el elemento de la raiz del monticulo
+     */
+    public T delete(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        return eliminaRaiz();
+    }//FIN DE DELETE()
+
+    //Quita la raiz sin las validaciones de delete(T) y luego las lapidas que suban a la raiz
+    private T eliminaRaiz(){
+        T e = quitaRaiz();
+        limpiaRaiz();
+        return e;
+    }//FIN DE ELIMINARAIZ
+
+    //Quita la raiz del arreglo
+    private T quitaRaiz(){
+        T e = arbol[0];
+        elementos --;
+        T ultimo = arbol[elementos];
+        arbol[elementos] = null;
+        e.setIndice(-1);
+        if(elementos > 0){
+            arbol[0] = ultimo;
+            mueveLapida(elementos, 0);
+            recorreAbajo(0);
+        }
+        reduceSiSobra();
+        return e;
+    }//FIN DE QUITARAIZ
+
+    /**
+     * Elimina hasta k elementos de la raiz, en orden, y los agrega a la
+     * coleccion recibida
+     * @param k El numero maximo de elementos a sacar
+     * @param salida La coleccion donde se agregan los elementos
+     * @return el numero de elementos que se sacaron
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public int drain(int k, Collection<T> salida){
+        if(k < 0){
+            throw new IllegalArgumentException("k no puede ser negativo");
+        }
+        int n = Math.min(k, size());
+        for(int i = 0; i < n; i++){
+            salida.add(eliminaRaiz());
+        }
+        return n;
+    }//FIN DE DRAIN
+
+    /**
+     * Saca la raiz y mete un elemento nuevo en su lugar con un solo recorrido
+     * hacia abajo, en vez de un delete() seguido de un add()
+     * @param elemento El elemento que ocupa el lugar de la raiz
+     * @return la raiz anterior
+     * @throws IllegalStateException si el monticulo esta vacio
+     * @throws IllegalArgumentException si el elemento es null o ya esta en
+     *         el monticulo
+     */
+    public T reemplazaRaiz(T elemento){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        if(elemento == null){
+            throw new IllegalArgumentException("El elemento no puede ser null");
+        }
+        if(contains(elemento)){
+            throw new IllegalArgumentException("El elemento ya esta en el monticulo");
+        }
+        T raiz = arbol[0];
+        if(esLapida(elemento)){
+            //El elemento sigue en el arreglo, se revive en lugar de copiarlo
+            add(elemento);
+            delete(raiz);
+            return raiz;
+        }
+        raiz.setIndice(-1);
+        arbol[0] = elemento;
+        recorreAbajo(0);
+        limpiaRaiz();
+        return raiz;
+    }//FIN DE REEMPLAZARAIZ
+
+    /**
+     * Elimina un elmento del monticulo. Con el borrado perezoso activo el
+     * elemento solo se marca en O(1) y sigue en el arreglo, con su indice,
+     * hasta que llega a la raiz o se purga el monticulo. Mientras tanto su
+     * valor no debe cambiar, salvo justo antes de volver a agregarlo.
+     */
+    public boolean delete(T elemento){
+        if(elemento ==null || isEmpty() ){
+            return false;
+        }
+        if(!contains(elemento)){
+            return false;
+        }
+        int i = elemento.getIndice();
+        if(lapidas != null && i > 0){
+            lapidas[i] = true;
+            numLapidas++;
+            if(numLapidas > fraccionLapidas * elementos){
+                purga();
+            }
+            return true;
+        }
+        elementos --;
+        T ultimo = arbol[elementos];
+        arbol[elementos] = null;
+        elemento.setIndice(-1);
+        if(i < elementos){
+            //El ultimo elemento ocupa el hueco y puede tener que subir o bajar
+            arbol[i] = ultimo;
+            mueveLapida(elementos, i);
+            if(i > 0 && compara(ultimo, arbol[(i-1) / aridad]) < 0){
+                recorreArriba(i);
+            }
+            else{
+                recorreAbajo(i);
+            }
+        }
+        reduceSiSobra();
+        limpiaRaiz();
+        return true;
+    }//FIN DE DELETE(ELEM)
+
+    /**
+     * Activa el borrado perezoso: delete(T) solo marca al elemento con una
+     * lapida en O(1). Las lapidas se quitan cuando llegan a la raiz, y cuando
+     * son mas de la fraccion recibida de los elementos del arreglo se purgan
+     * todas juntas reconstruyendo el monticulo en O(n).
+     * @param fraccion La fraccion de lapidas que dispara la purga, entre 0 y 1
+     * @throws IllegalArgumentException si la fraccion no esta en (0, 1]
+     */
+    public void activaBorradoPerezoso(double fraccion){
+        if(!(fraccion > 0 && fraccion <= 1)){
+            throw new IllegalArgumentException("La fraccion debe estar en (0, 1]");
+        }
+        fraccionLapidas = fraccion;
+        if(lapidas == null){
+            lapidas = new boolean[arbol.length];
+        }
+    }//FIN DE ACTIVABORRADOPEREZOSO
+
+    /**
+     * Purga las lapidas pendientes y regresa al borrado inmediato
+     */
+    public void desactivaBorradoPerezoso(){
+        purga();
+        lapidas = null;
+    }//FIN DE DESACTIVABORRADOPEREZOSO
+
+    /**
+     * Quita del arreglo todos los elementos borrados con el borrado perezoso
+     * y reconstruye el monticulo en O(n). No hace nada si no hay lapidas.
+     */
+    public void purga(){
+        if(numLapidas == 0){
+            return;
+        }
+        int j = 0;
+        for(int i = 0; i < elementos; i++){
+            T e = arbol[i];
+            if(lapidas[i]){
+                lapidas[i] = false;
+                e.setIndice(-1);
+            }
+            else{
+                arbol[j] = e;
+                e.setIndice(j);
+                j++;
+            }
+        }
+        for(int i = j; i < elementos; i++){
+            arbol[i] = null;
+        }
+        elementos = j;
+        numLapidas = 0;
+        heapify();
+        reduceSiSobra();
+    }//FIN DE PURGA
+
+    //Quita las lapidas que esten en la raiz, para que la raiz siempre sea un elemento vivo
+    protected void limpiaRaiz(){
+        while(numLapidas > 0 && elementos > 0 && lapidas[0]){
+            lapidas[0] = false;
+            numLapidas--;
+            quitaRaiz();
+        }
+    }//FIN DE LIMPIARAIZ
+
+    //Pasa la marca de la posicion desde a la posicion hasta, que ocupa ahora su elemento
+    private void mueveLapida(int desde, int hasta){
+        if(lapidas != null){
+            lapidas[hasta] = lapidas[desde];
+            lapidas[desde] = false;
+        }
+    }//FIN DE MUEVELAPIDA
+
+    //Nos dice si el elemento esta borrado pero sigue en el arreglo
+    private boolean esLapida(T elemento){
+        if(lapidas == null){
+            return false;
+        }
+        int i = elemento.getIndice();
+        return i >= 0 && i < elementos && arbol[i] == elemento && lapidas[i];
+    }//FIN DE ESLAPIDA
+
+
+    //Metodo para recorrer el arbol hacia abajo y verificar que se cumpla la condicion de heap.
+    //El mejor hijo sube al hueco y el elemento se escribe una sola vez al final.
+    protected void recorreAbajo(int i){
+        T elemento = arbol[i];
+        boolean[] marcas = lapidas;
+        boolean marca = marcas != null && marcas[i];
+        int niveles = 0;
+        while(true){
+            int inicio = aridad*i +1;
+            if(inicio >= elementos){
+                break;
+            }
+            int primero = inicio;
+            int fin = Math.min(inicio + aridad, elementos);
+            for(int h = inicio +1; h < fin; h++){
+                if (compara(arbol[h], arbol[primero]) <0 ) {
+                    primero = h;
+                }
+            }
+            T hijo = arbol[primero];
+            if(compara(hijo, elemento) >= 0){
+                break;
+            }
+            arbol[i] = hijo;
+            hijo.setIndice(i);
+            if(marcas != null){
+                marcas[i] = marcas[primero];
+            }
+            i = primero;
+            niveles++;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+        if(marcas != null){
+            marcas[i] = marca;
+        }
+        if(mide){
+            medidor.recorrido(niveles);
+        }
+    }//FIN DE RECORREABAJO
+
+    /**
+     * Nos dice si el elemento esta en el monticulo, usando su indice
+     * @param elemento
+     * @return true si el elemento ocupa la posicion que indica su indice
+     */
+    @Override public boolean contains(T elemento){
+        if(elemento == null){
+            return false;
+        }
+        int i = elemento.getIndice();
+        return i >= 0 && i < elementos && arbol[i] == elemento && (lapidas == null || !lapidas[i]);
+    }//FIN DE CONTAINS
+
+    /**
+     * Reacomoda un elemento del monticulo cuyo valor cambio
+     * @param elemento El elemento modificado
+     * @throws IllegalArgumentException si el elemento no esta en el monticulo
+     */
+    public void actualiza(T elemento){
+        verificaElemento(elemento);
+        int i = elemento.getIndice();
+        recorreArriba(i);
+        if(elemento.getIndice() == i){
+            recorreAbajo(i);
+            limpiaRaiz();
+        }
+    }//FIN DE ACTUALIZA
+
+    //Metodo para verificar que un elemento este en el monticulo
+    protected void verificaElemento(T elemento){
+        if(!contains(elemento)){
+            throw new IllegalArgumentException("El elemento no esta en el monticulo");
+        }
+    }//FIN DE VERIFICAELEMENTO
+
+    @Override public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    @Override
+    public void empty() {
+        for (int i = 0; i < elementos; i++) {
+            arbol[i] = null;
+        }
+        elementos = 0;
+        if(arbol.length > pisoCapacidad()){
+            arbol = nuevoArreglo(pisoCapacidad());
+        }
+        if(lapidas != null){
+            lapidas = new boolean[arbol.length];
+            numLapidas = 0;
+        }
+    }//FIN DE EMPTY
+
+    /**
+     * Regresa el numero de elementos del monticulo, sin contar los borrados
+     * que siguen en el arreglo
+     * @return el numero de elementos
+     */
+    @Override
+    public int size(){
+        return elementos - numLapidas;
+    }//FIN DE SIZE
+
+    /**
+     * Metodo para obtener el elemento en el indice i del heap. Con el borrado
+     * perezoso el indice es la posicion en el arreglo, que puede tener
+     * elementos borrados; la raiz nunca lo esta.
+     * @param i
+     * @return
+     */
+    public T get(int i){
+        if (i< 0 || i>= elementos) {
+            throw new NoSuchElementException("Indice no valido");
+        }
+        return arbol[i];
+    }//FIN DE GET
+
+
+    @Override public String toString(){
+        String resultado ="";
+        for (int i = 0; i <elementos; i++) {
+            if(lapidas == null || !lapidas[i]){
+                resultado += arbol[i].toString() + ",";
+            }
+        }
+        return resultado;
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        @SuppressWarnings("unchecked") Monticulo<T> monticulo = (Monticulo<T>)obj;
+        if (elementos != monticulo.elementos) {
+            return false;
+        }
+        for (int i = 0; i < elementos; i++) {
+            if(!arbol[i].equals(monticulo.arbol[i])){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+    /**
+     * Regresa un iterador para iterar el monticulo. El monticulo se
+     * itera en orden BFS.
+     *
+     * @return un iterador para iterar el monticulo.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterador();
+    }//FIN DE ITERATOR
+
+    /**
+     * Regresa un iterador que recorre el monticulo en orden, empezando por la
+     * raiz, sin modificarlo. Cada elemento cuesta O(log k), donde k es el
+     * numero de elementos recorridos. El monticulo no debe cambiar mientras
+     * se usa el iterador.
+     *
+     * @return un iterador en orden
+     */
+    public Iterator<T> iteradorOrdenado() {
+        return new IteradorOrdenado();
+    }//FIN DE ITERADORORDENADO
+
+}
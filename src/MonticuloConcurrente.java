@@ -0,0 +1,188 @@
+package src.edd;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de prioridades para varios hilos (MultiQueue). Los elementos se
+ * reparten en varios monticulos, cada uno con su propio candado. Para sacar un
+ * elemento se eligen dos particiones al azar y se saca la raiz de la mejor, por
+ * lo que el orden es relajado: el elemento que se saca esta cerca del minimo
+ * global, pero no siempre es el minimo.
+ */
+public class MonticuloConcurrente<T extends ComparableIndexable<T>> {
+
+    /**
+     * Clase para las particiones de la cola
+     */
+    private static class Particion<T extends ComparableIndexable<T>> {
+        /* El candado de la particion */
+        private final ReentrantLock candado = new ReentrantLock();
+        /* El monticulo de la particion */
+        private final Monticulo<T> monticulo;
+        /* La raiz del monticulo, para consultarla sin tomar el candado */
+        private volatile T cima;
+
+        public Particion(Comparator<? super T> comparador){
+            monticulo = new Monticulo<T>(comparador, 2);
+        }
+
+        //Actualiza la cima, se llama con el candado tomado
+        private void actualizaCima(){
+            cima = monticulo.isEmpty() ? null : monticulo.get(0);
+        }
+    }//FIN DE CLASE PARTICION
+
+    /* Las particiones */
+    private final Particion<T>[] particiones;
+    /* El comparador que define el orden */
+    private final Comparator<? super T> comparador;
+
+    /**
+     * Constructor sin parametros, usa dos particiones por procesador
+     */
+    public MonticuloConcurrente(){
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe el numero de particiones
+     * @param n El numero de particiones
+     */
+    public MonticuloConcurrente(int n){
+        this(n, Comparator.naturalOrder());
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Constructor que recibe el numero de particiones y el comparador
+     * @param n El numero de particiones
+     * @param comparador El comparador que define el orden
+     * @throws IllegalArgumentException si n es menor a 1 o el comparador es null
+     */
+    @SuppressWarnings("unchecked")
+    public MonticuloConcurrente(int n, Comparator<? super T> comparador){
+        if(n < 1){
+            throw new IllegalArgumentException("Se necesita al menos una particion");
+        }
+        if(comparador == null){
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        this.comparador = comparador;
+        particiones = (Particion<T>[])new Particion<?>[n];
+        for(int i = 0; i < n; i++){
+            particiones[i] = new Particion<T>(comparador);
+        }
+    }//FIN DE CONSTRUCTOR 3
+
+    /**
+     * Agrega un elemento en alguna particion libre
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public void add(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("El elemento no puede ser null");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while(true){
+            Particion<T> p = particiones[random.nextInt(particiones.length)];
+            if(p.candado.tryLock()){
+                try{
+                    p.monticulo.add(elemento);
+                    p.actualizaCima();
+                    return;
+                }
+                finally{
+                    p.candado.unlock();
+                }
+            }
+        }
+    }//FIN DE ADD
+
+    /**
+     * Saca la raiz de la mejor de dos particiones elegidas al azar
+     * @return un elemento cercano al minimo, o null si la cola esta vacia
+     */
+    public T poll(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int intentos = 0;
+        while(intentos < 2 * particiones.length){
+            Particion<T> a = particiones[random.nextInt(particiones.length)];
+            Particion<T> b = particiones[random.nextInt(particiones.length)];
+            T ca = a.cima;
+            T cb = b.cima;
+            if(ca == null && cb == null){
+                intentos++;
+                continue;
+            }
+            Particion<T> p = (cb == null || (ca != null && comparador.compare(ca, cb) <= 0)) ? a : b;
+            T elemento = sacaCima(p, false);
+            if(elemento != null){
+                return elemento;
+            }
+        }
+        //Las particiones parecen vacias, se revisan todas antes de rendirse
+        for(Particion<T> p : particiones){
+            T elemento = sacaCima(p, true);
+            if(elemento != null){
+                return elemento;
+            }
+        }
+        return null;
+    }//FIN DE POLL
+
+    //Saca la raiz de una particion, o regresa null si esta ocupada o vacia
+    private T sacaCima(Particion<T> p, boolean espera){
+        if(espera){
+            p.candado.lock();
+        }
+        else if(!p.candado.tryLock()){
+            return null;
+        }
+        try{
+            if(p.monticulo.isEmpty()){
+                return null;
+            }
+            T elemento = p.monticulo.delete();
+            p.actualizaCima();
+            return elemento;
+        }
+        finally{
+            p.candado.unlock();
+        }
+    }//FIN DE SACACIMA
+
+    /**
+     * Regresa el numero de elementos. Si otros hilos modifican la cola al
+     * mismo tiempo el resultado es aproximado.
+     * @return el numero de elementos
+     */
+    public int size(){
+        int n = 0;
+        for(Particion<T> p : particiones){
+            p.candado.lock();
+            try{
+                n += p.monticulo.size();
+            }
+            finally{
+                p.candado.unlock();
+            }
+        }
+        return n;
+    }//FIN DE SIZE
+
+    /**
+     * Nos dice si la cola esta vacia
+     * @return true si ninguna particion tiene elementos
+     */
+    public boolean isEmpty(){
+        for(Particion<T> p : particiones){
+            if(p.cima != null){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE ISEMPTY
+
+}
@@ -0,0 +1,392 @@
+package src.edd;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos de emparejamiento (pairing heaps). Agregar y mezclar
+ * dos monticulos cuesta O(1); eliminar el minimo cuesta O(log n) amortizado.
+ * Cada elemento agregado con {@link #inserta} regresa su vertice, que sirve
+ * para disminuir su valor o eliminarlo despues.
+ */
+public class MonticuloEmparejamiento<T> implements Collection<T> {
+
+    /**
+     * Clase para los vertices del monticulo
+     */
+    public static final class Vertice<T> {
+        /* El elemento del vertice */
+        private T elemento;
+        /* El hijo mas a la izquierda */
+        private Vertice<T> hijo;
+        /* El siguiente hermano a la derecha */
+        private Vertice<T> hermano;
+        /* El hermano a la izquierda, o el padre si es el primer hijo */
+        private Vertice<T> anterior;
+        /* Si el vertice sigue en el monticulo */
+        private boolean vivo;
+        /* La celda que lleva al monticulo del vertice */
+        private Celda celda;
+
+        private Vertice(T elemento){
+            this.elemento = elemento;
+            this.vivo = true;
+        }
+
+        /**
+         * Regresa el elemento del vertice
+         * @return el elemento
+         */
+        public T getElemento(){
+            return elemento;
+        }
+    }//FIN DE CLASE VERTICE
+
+    /**
+     * Clase para saber a que monticulo pertenece un vertice. Todos los
+     * vertices de un monticulo comparten su celda; al mezclar, la celda del
+     * otro monticulo se redirige a la de este en O(1), sin tocar los vertices.
+     */
+    private static final class Celda {
+        /* El monticulo, o null si la celda se redirigio */
+        private MonticuloEmparejamiento<?> monticulo;
+        /* La celda a la que se redirigio, o null */
+        private Celda siguiente;
+
+        private Celda(MonticuloEmparejamiento<?> monticulo){
+            this.monticulo = monticulo;
+        }
+    }//FIN DE CLASE CELDA
+
+    /**
+     * Clase para iteradores del monticulo, recorre los vertices en DFS
+     */
+    private class Iterador implements Iterator<T>{
+
+        private PilaArreglo<Vertice<T>> pila;
+
+        public Iterador(){
+            pila = new PilaArreglo<Vertice<T>>();
+            if(raiz != null){
+                pila.push(raiz);
+            }
+        }
+
+        @Override public boolean hasNext(){
+            return !pila.isEmpty();
+        }
+
+        @Override public T next(){
+            if (!hasNext()) {
+                throw new NoSuchElementException("No hay, no existe");
+            }
+            Vertice<T> v = pila.pop();
+            if(v.hermano != null){
+                pila.push(v.hermano);
+            }
+            if(v.hijo != null){
+                pila.push(v.hijo);
+            }
+            return v.elemento;
+        }
+    }//FIN DE CLASE ITERADOR
+
+    /* La raiz del monticulo */
+    private Vertice<T> raiz;
+    /* numero de elementos */
+    private int elementos;
+    /* El comparador que define el orden */
+    private final Comparator<? super T> comparador;
+    /* La celda que comparten los vertices de este monticulo */
+    private Celda celda = new Celda(this);
+
+    /**
+     * Constructor que recibe el comparador
+     * @param comparador El comparador, la raiz es el menor elemento
+     */
+    public MonticuloEmparejamiento(Comparator<? super T> comparador){
+        if(comparador == null){
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        this.comparador = comparador;
+    }//FIN DE CONSTRUCTOR
+
+    /**
+     * Agrega un elemento al monticulo en O(1)
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    @Override public void add(T elemento){
+        inserta(elemento);
+    }//FIN DE ADD
+
+    /**
+     * Agrega un elemento al monticulo en O(1) y regresa su vertice
+     * @param elemento El elemento a agregar
+     * @return el vertice del elemento
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public Vertice<T> inserta(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("El elemento no puede ser null");
+        }
+        Vertice<T> v = new Vertice<T>(elemento);
+        v.celda = celda;
+        raiz = raiz == null ? v : liga(raiz, v);
+        elementos++;
+        return v;
+    }//FIN DE INSERTA
+
+    //Liga dos raices sin hermanos, la mayor queda como primer hijo de la menor
+    private Vertice<T> liga(Vertice<T> a, Vertice<T> b){
+        if(comparador.compare(b.elemento, a.elemento) < 0){
+            Vertice<T> aux = a;
+            a = b;
+            b = aux;
+        }
+        b.anterior = a;
+        b.hermano = a.hijo;
+        if(a.hijo != null){
+            a.hijo.anterior = b;
+        }
+        a.hijo = b;
+        return a;
+    }//FIN DE LIGA
+
+    /**
+     * Regresa el elemento minimo sin eliminarlo
+     * @return el minimo
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public T peek(){
+        if(raiz == null){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return raiz.elemento;
+    }//FIN DE PEEK
+
+    /**
+     * Elimina el elemento minimo del monticulo
+     * @return el minimo
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public T delete(){
+        if(raiz == null){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        Vertice<T> v = raiz;
+        raiz = combinaPares(v.hijo);
+        elementos--;
+        desconecta(v);
+        return v.elemento;
+    }//FIN DE DELETE()
+
+    /**
+     * Elimina el elemento de un vertice del monticulo
+     * @param v El vertice que regreso inserta
+     * @throws IllegalArgumentException si el vertice ya no esta en este monticulo
+     */
+    public void delete(Vertice<T> v){
+        verificaVertice(v);
+        if(v == raiz){
+            delete();
+            return;
+        }
+        corta(v);
+        Vertice<T> sub = combinaPares(v.hijo);
+        if(sub != null){
+            raiz = liga(raiz, sub);
+        }
+        elementos--;
+        desconecta(v);
+    }//FIN DE DELETE(VERTICE)
+
+    /**
+     * Cambia el elemento de un vertice por uno menor o igual
+     * @param v El vertice que regreso inserta
+     * @param elemento El nuevo elemento
+     * @throws IllegalArgumentException si el vertice ya no esta en este
+     *         monticulo o si el nuevo elemento es mayor que el anterior
+     */
+    public void decreaseKey(Vertice<T> v, T elemento){
+        verificaVertice(v);
+        if(elemento == null || comparador.compare(elemento, v.elemento) > 0){
+            throw new IllegalArgumentException("El nuevo elemento debe ser menor o igual");
+        }
+        v.elemento = elemento;
+        if(v != raiz){
+            corta(v);
+            raiz = liga(raiz, v);
+        }
+    }//FIN DE DECREASEKEY
+
+    /**
+     * Mezcla otro monticulo con este en O(1). El otro monticulo queda vacio y
+     * sus vertices pasan a este. Ambos deben usar el mismo orden.
+     * @param otro El monticulo a mezclar
+     */
+    public void meld(MonticuloEmparejamiento<T> otro){
+        if(otro == this || otro.raiz == null){
+            return;
+        }
+        raiz = raiz == null ? otro.raiz : liga(raiz, otro.raiz);
+        elementos += otro.elementos;
+        otro.raiz = null;
+        otro.elementos = 0;
+        //Los vertices del otro ahora llegan a este monticulo
+        otro.celda.monticulo = null;
+        otro.celda.siguiente = celda;
+        otro.celda = new Celda(otro);
+    }//FIN DE MELD
+
+    //Separa un vertice (que no es la raiz) de su padre y hermanos
+    private void corta(Vertice<T> v){
+        if(v.anterior.hijo == v){
+            v.anterior.hijo = v.hermano;
+        }
+        else{
+            v.anterior.hermano = v.hermano;
+        }
+        if(v.hermano != null){
+            v.hermano.anterior = v.anterior;
+        }
+        v.anterior = null;
+        v.hermano = null;
+    }//FIN DE CORTA
+
+    //Combina una lista de hermanos en un solo arbol, en dos pasadas y sin recursion
+    private Vertice<T> combinaPares(Vertice<T> primero){
+        if(primero == null){
+            return null;
+        }
+        //Primera pasada: se ligan por pares de izquierda a derecha y se apilan
+        Vertice<T> pares = null;
+        while(primero != null){
+            Vertice<T> a = primero;
+            Vertice<T> b = a.hermano;
+            primero = b == null ? null : b.hermano;
+            a.hermano = null;
+            a.anterior = null;
+            if(b != null){
+                b.hermano = null;
+                b.anterior = null;
+                a = liga(a, b);
+            }
+            a.hermano = pares;
+            pares = a;
+        }
+        //Segunda pasada: se ligan de derecha a izquierda
+        Vertice<T> resultado = pares;
+        pares = pares.hermano;
+        resultado.hermano = null;
+        while(pares != null){
+            Vertice<T> siguiente = pares.hermano;
+            pares.hermano = null;
+            resultado = liga(resultado, pares);
+            pares = siguiente;
+        }
+        resultado.anterior = null;
+        return resultado;
+    }//FIN DE COMBINAPARES
+
+    //Marca un vertice como eliminado
+    private void desconecta(Vertice<T> v){
+        v.hijo = null;
+        v.hermano = null;
+        v.anterior = null;
+        v.vivo = false;
+    }//FIN DE DESCONECTA
+
+    //Verifica que el vertice siga en este monticulo
+    private void verificaVertice(Vertice<T> v){
+        if(v == null || !v.vivo || dueno(v) != this){
+            throw new IllegalArgumentException("El vertice no esta en el monticulo");
+        }
+    }//FIN DE VERIFICAVERTICE
+
+    //Regresa el monticulo de un vertice siguiendo las celdas redirigidas, y
+    //acorta el camino para las siguientes consultas
+    private static MonticuloEmparejamiento<?> dueno(Vertice<?> v){
+        Celda c = v.celda;
+        while(c.siguiente != null){
+            c = c.siguiente;
+        }
+        Celda aux = v.celda;
+        while(aux.siguiente != null){
+            Celda siguiente = aux.siguiente;
+            aux.siguiente = c;
+            aux = siguiente;
+        }
+        v.celda = c;
+        return c.monticulo;
+    }//FIN DE DUENO
+
+    @Override public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    @Override public boolean contains(T elemento){
+        for(T e : this){
+            if(e.equals(elemento)){
+                return true;
+            }
+        }
+        return false;
+    }//FIN DE CONTAINS
+
+    @Override public void empty(){
+        while(raiz != null){
+            delete();
+        }
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    @Override public String toString(){
+        String resultado = "";
+        for(T e : this){
+            resultado += e.toString() + ",";
+        }
+        return resultado;
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        @SuppressWarnings("unchecked") MonticuloEmparejamiento<T> monticulo = (MonticuloEmparejamiento<T>)obj;
+        if(elementos != monticulo.elementos){
+            return false;
+        }
+        Iterator<T> a = iterator();
+        Iterator<T> b = monticulo.iterator();
+        while(a.hasNext()){
+            if(!a.next().equals(b.next())){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for(T e : this){
+            hash = 31 * hash + e.hashCode();
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+    /**
+     * Regresa un iterador para el monticulo, en orden DFS
+     * @return el iterador
+     */
+    @Override public Iterator<T> iterator(){
+        return new Iterador();
+    }//FIN DE ITERATOR
+
+}
@@ -0,0 +1,263 @@
+package src.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos minimos indexados por enteros. Cada elemento es un
+ * identificador entre 0 y n-1 con una llave de tipo long, y el monticulo
+ * guarda la posicion de cada identificador en un arreglo propio. Asi los
+ * objetos del programa no tienen que implementar ComparableIndexable ni
+ * envolverse en un Adaptador, y un mismo objeto puede estar en varios
+ * monticulos.
+ *
+ * Las llaves se guardan en un arreglo de primitivos junto al de posiciones,
+ * como en MonticuloRadix, asi que agregar o cambiar una llave no crea ningun
+ * objeto. Una distancia double no negativa se puede guardar como llave con
+ * Double.doubleToLongBits, que conserva su orden.
+ */
+public class MonticuloIndexado {
+
+    /* numero de elementos en el monticulo */
+    private int elementos;
+    /* Nuestro arbol representado como arreglo de identificadores */
+    private final int[] arbol;
+    /* La posicion en el arbol de cada identificador, -1 si no esta */
+    private final int[] posiciones;
+    /* La llave de cada identificador */
+    private final long[] claves;
+
+    /**
+     * Constructor que recibe el numero de identificadores
+     * @param n Los identificadores validos son 0..n-1
+     * @throws IllegalArgumentException si n es negativo
+     */
+    public MonticuloIndexado(int n){
+        if(n < 0){
+            throw new IllegalArgumentException("n no puede ser negativo");
+        }
+        arbol = new int[n];
+        posiciones = new int[n];
+        claves = new long[n];
+        for(int i = 0; i < n; i++){
+            posiciones[i] = -1;
+        }
+    }//FIN DE CONSTRUCTOR
+
+    /**
+     * Agrega un identificador con su llave
+     * @param id El identificador
+     * @param clave La llave
+     * @throws IllegalArgumentException si el identificador ya esta
+     */
+    public void add(int id, long clave){
+        verificaId(id);
+        if(posiciones[id] != -1){
+            throw new IllegalArgumentException("El identificador ya esta en el monticulo");
+        }
+        claves[id] = clave;
+        arbol[elementos] = id;
+        posiciones[id] = elementos;
+        recorreArriba(elementos++);
+    }//FIN DE ADD
+
+    /**
+     * Nos dice si el identificador esta en el monticulo
+     * @param id El identificador
+     * @return true si esta
+     */
+    public boolean contains(int id){
+        return id >= 0 && id < posiciones.length && posiciones[id] != -1;
+    }//FIN DE CONTAINS
+
+    /**
+     * Regresa la llave de un identificador
+     * @param id El identificador
+     * @return la llave
+     * @throws NoSuchElementException si el identificador no esta
+     */
+    public long getClave(int id){
+        verificaContiene(id);
+        return claves[id];
+    }//FIN DE GETCLAVE
+
+    /**
+     * Regresa el identificador con la menor llave sin eliminarlo
+     * @return el identificador
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public int peek(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return arbol[0];
+    }//FIN DE PEEK
+
+    /**
+     * Elimina el identificador con la menor llave
+     * @return el identificador
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public int delete(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        int id = arbol[0];
+        delete(id);
+        return id;
+    }//FIN DE DELETE()
+
+    /**
+     * Elimina un identificador del monticulo
+     * @param id El identificador
+     * @return true si estaba en el monticulo
+     */
+    public boolean delete(int id){
+        if(!contains(id)){
+            return false;
+        }
+        int i = posiciones[id];
+        elementos--;
+        posiciones[id] = -1;
+        if(i < elementos){
+            int ultimo = arbol[elementos];
+            arbol[i] = ultimo;
+            posiciones[ultimo] = i;
+            if(i > 0 && compara(ultimo, arbol[(i-1) / 2]) < 0){
+                recorreArriba(i);
+            }
+            else{
+                recorreAbajo(i);
+            }
+        }
+        return true;
+    }//FIN DE DELETE(ID)
+
+    /**
+     * Cambia la llave de un identificador
+     * @param id El identificador
+     * @param clave La nueva llave
+     * @throws NoSuchElementException si el identificador no esta
+     */
+    public void cambiaClave(int id, long clave){
+        verificaContiene(id);
+        claves[id] = clave;
+        int i = posiciones[id];
+        recorreArriba(i);
+        if(posiciones[id] == i){
+            recorreAbajo(i);
+        }
+    }//FIN DE CAMBIACLAVE
+
+    /**
+     * Cambia la llave de un identificador por una menor o igual
+     * @param id El identificador
+     * @param clave La nueva llave
+     * @throws NoSuchElementException si el identificador no esta
+     * @throws IllegalArgumentException si la nueva llave es mayor
+     */
+    public void decreaseKey(int id, long clave){
+        verificaContiene(id);
+        if(clave > claves[id]){
+            throw new IllegalArgumentException("La nueva llave debe ser menor o igual");
+        }
+        claves[id] = clave;
+        recorreArriba(posiciones[id]);
+    }//FIN DE DECREASEKEY
+
+    /**
+     * Cambia la llave de un identificador por una mayor o igual
+     * @param id El identificador
+     * @param clave La nueva llave
+     * @throws NoSuchElementException si el identificador no esta
+     * @throws IllegalArgumentException si la nueva llave es menor
+     */
+    public void increaseKey(int id, long clave){
+        verificaContiene(id);
+        if(clave < claves[id]){
+            throw new IllegalArgumentException("La nueva llave debe ser mayor o igual");
+        }
+        claves[id] = clave;
+        recorreAbajo(posiciones[id]);
+    }//FIN DE INCREASEKEY
+
+    //Compara las llaves de dos identificadores
+    private int compara(int a, int b){
+        return Long.compare(claves[a], claves[b]);
+    }//FIN DE COMPARA
+
+    //Sube el identificador en la posicion i hasta su lugar
+    private void recorreArriba(int i){
+        int id = arbol[i];
+        while(i > 0){
+            int padre = (i-1) / 2;
+            int idPadre = arbol[padre];
+            if(compara(id, idPadre) >= 0){
+                break;
+            }
+            arbol[i] = idPadre;
+            posiciones[idPadre] = i;
+            i = padre;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }//FIN DE RECORREARRIBA
+
+    //Baja el identificador en la posicion i hasta su lugar
+    private void recorreAbajo(int i){
+        int id = arbol[i];
+        int mitad = elementos / 2;
+        while(i < mitad){
+            int hijo = 2*i +1;
+            if(hijo +1 < elementos && compara(arbol[hijo +1], arbol[hijo]) < 0){
+                hijo++;
+            }
+            int idHijo = arbol[hijo];
+            if(compara(idHijo, id) >= 0){
+                break;
+            }
+            arbol[i] = idHijo;
+            posiciones[idHijo] = i;
+            i = hijo;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }//FIN DE RECORREABAJO
+
+    //Verifica que el identificador este en el rango valido
+    private void verificaId(int id){
+        if(id < 0 || id >= posiciones.length){
+            throw new IllegalArgumentException("Identificador fuera de rango: "+id);
+        }
+    }//FIN DE VERIFICAID
+
+    //Verifica que el identificador este en el monticulo
+    private void verificaContiene(int id){
+        if(!contains(id)){
+            throw new NoSuchElementException("El identificador no esta en el monticulo: "+id);
+        }
+    }//FIN DE VERIFICACONTIENE
+
+    public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    public void empty(){
+        for(int i = 0; i < elementos; i++){
+            posiciones[arbol[i]] = -1;
+        }
+        elementos = 0;
+    }//FIN DE EMPTY
+
+    @Override public String toString(){
+        String resultado = "";
+        for(int i = 0; i < elementos; i++){
+            resultado += arbol[i] + ":" + claves[arbol[i]] + ",";
+        }
+        return resultado;
+    }//FIN DE TOSTRING
+
+}
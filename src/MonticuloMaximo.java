@@ -1,8 +1,7 @@
 package src.edd;
 
-import java.time.Year;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
 
 import src.edd.Collection;
 import src.edd.MonticuloMinimo;
@@ -11,83 +10,50 @@ import src.edd.MonticuloMinimo;
  * 
  * Clase para monticulos maximos (Maxheaps)
 */
-public class MonticuloMaximo<T extends ComparableIndexable<T>> implements Collection<T>{
-    
-    //Clase privada de iterador de heaps
-    private class Iterador implements Iterator<T>{
-        
-        private int indice;
-
-        @Override public boolean hasNext(){
-            return indice < elementos;
-        }
-
-        @Override public T next(){
-            if (hasNext()) {
-                return arbol[indice++];
-            }
-            throw new NoSuchElementException("No hay, no existe");
-        }
-    }//FIN DE CLASE ITERADOR
-
-    //Clase privada para adaptadores
-    private static class Adaptador<T extends Comparable<T>>implements ComparableIndexable<Adaptador<T>>{
-        /* El elemento. */
-        private T elemento;
-        /* El indice. */
-        private int indice;
-
-        /* Crea un nuevo comparable indexable. */
-        public Adaptador(T elemento) {
-            this.elemento = elemento;
-            this.indice = -1;
-        }
-
-        /* Regresa el indice. */
-        @Override
-        public int getIndice() {
-            return this.indice;
-        }
-
-        /* Define el indice. */
-        @Override
-        public void setIndice(int indice) {
-            this.indice = indice;
-        }
-
-        /* Compara un indexable con otro. */
-        @Override
-        public int compareTo(Adaptador<T> adaptador) {
-            return this.elemento.compareTo(adaptador.elemento);
-        }
-
-        public String toString(){
-            return "A{"+elemento+" "+indice+"}";
-        }
-    }//FIN DE CLASE ADAPTADOR
+public class MonticuloMaximo<T extends ComparableIndexable<T>> extends Monticulo<T>{
 
+    /**
+     * Constructor sin parametros;
+     */
+    public MonticuloMaximo(){
+        this(2);
+    }//FIN DE CONSTRUCTOR 1
 
-    /* numero de elementos en el arreglo */
-    private int elementos;
-    /* Nuestro arbol representado como arreglo */
-    private T[] arbol;
+    /**
+     * Constructor que recibe el numero de hijos de cada vertice
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @throws IllegalArgumentException si la aridad es menor a 2
+     */
+    public MonticuloMaximo(int aridad){
+        super(Comparator.reverseOrder(), aridad);
+    }//FIN DE CONSTRUCTOR ARIDAD
 
-    /* Con esto podemos crear arreglos genericos sin que el compilador marque error */
-    @SuppressWarnings("unchecked") 
-    private T[] nuevoArreglo(int n){
-        return (T[])(new ComparableIndexable[n]);
-    }//FIN DE NUEVOARREGLO
+    /**
+     * Constructor que recibe el numero de hijos de cada vertice y la capacidad
+     * inicial del arreglo
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial, el arreglo no se encoge por debajo de ella
+     * @throws IllegalArgumentException si la aridad es menor a 2 o la capacidad es menor a 1
+     */
+    public MonticuloMaximo(int aridad, int capacidad){
+        super(Comparator.reverseOrder(), aridad, capacidad);
+    }//FIN DE CONSTRUCTOR CAPACIDAD
 
     /**
-     * Constructor 1
+     * Constructor que recibe el numero de hijos de cada vertice, la capacidad
+     * inicial y un medidor que cuenta las operaciones del monticulo
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial, el arreglo no se encoge por debajo de ella
+     * @param medidor El medidor
+     * @throws IllegalArgumentException si la aridad es menor a 2, la capacidad es menor a 1
+     *         o el medidor es null
      */
-    public MonticuloMaximo(){
-        elementos = 0;
-        arbol = nuevoArreglo(100);
-    }//FIN DE CONSTRUCTOR 1
+    public MonticuloMaximo(int aridad, int capacidad, MedidorMonticulo medidor){
+        super(Comparator.reverseOrder(), aridad, capacidad, medidor);
+    }//FIN DE CONSTRUCTOR MEDIDOR
 
     /**
-     * Constructor 2
+     * Constructor que recibe una coleccion
      * @param coleccion
      */
     public MonticuloMaximo(Collection<T> coleccion){
@@ -95,242 +61,53 @@ public class MonticuloMaximo<T extends ComparableIndexable<T>> implements Collec
     }//FIN DE CONSTRUCTOR 2
 
     /**
-     * Constructor 3
+     * Constructor que recibe un iterable
      * @param iterable
      * @param n
      */
     public MonticuloMaximo(Iterable<T> iterable, int n ){
-        elementos = n;
-        arbol = nuevoArreglo(n);
-        int i = 0;
-        for (T e : iterable) {
-           arbol[i] = e;
-           arbol[i].setIndice(i);
-           i ++;
-        }
-        for(int j = (elementos-1) /2; j >= 0; j--){
-            monticuloMax(j);
-        }
+        this(iterable, n, 2);
     }//FIN DE CONSTRUCTOR 3
 
     /**
-     * Constructor 4 para crear un monticulo maximo a partir de uno minimo
-     * @param min
+     * Constructor que recibe un iterable y el numero de hijos de cada vertice
+     * @param iterable
+     * @param n
+     * @param aridad
      */
-    public MonticuloMaximo(MonticuloMinimo<T> min){
-        MonticuloMaximo<T> nuevo=new MonticuloMaximo<>();
-        nuevo=nuevo.MontMin_MontMax(min);
-        this.arbol=nuevo.arbol;
-        this.elementos=nuevo.elementos;
-    }//FIN DE CONSTRUCTOR 4
-
-    
-    private void monticuloMax(int i){
-        int izq = i * 2 +1 ;
-        int der = i * 2 + 2;
-        int maximo = i;
-
-        if (elementos <= i) {
-            return;
-        }
-        if(izq < elementos && arbol[izq].compareTo(arbol[i]) > 0){
-            maximo = izq;
-        }
-        if(der < elementos && arbol[der].compareTo(arbol[maximo]) > 0){
-            maximo = der;
-        }
-        if(maximo == i){
-            return;
-        }
-
-        else{
-            swap(arbol[maximo],arbol[i]);
-        }
-    }//FIN DE MONTICULOMAX
-
-    //metodo para actualizar posiciones e indices
-    private void swap(T i, T j) {
-        int aux = j.getIndice();
-        arbol[i.getIndice()] = j;
-        arbol[j.getIndice()] = i;
-        j.setIndice(i.getIndice());
-        i.setIndice(aux);
-    }//FIN DE SWAP
+    public MonticuloMaximo(Iterable<T> iterable, int n, int aridad){
+        super(iterable, n, Comparator.reverseOrder(), aridad);
+    }//FIN DE CONSTRUCTOR ITERABLE ARIDAD
 
-    @Override public void add(T elemento){
-        if (elementos == arbol.length) {
-            duplicaSize();
-        }
-        elemento.setIndice(elementos);
-        arbol[elementos] = elemento;
-        elementos++;
-        recorreArriba(elementos - 1);
-    }//FIN DE ADD
-
-    //metodo para duplicar el tamawo arreglo del arbol
-    private void duplicaSize(){
-        T[] arr = nuevoArreglo(arbol.length * 2);
-        elementos = 0;
-        for(T e: arbol){
-            arr[elementos++] = e;
-        }
-        this.arbol = arr;
-    }//FIN DE DUPLICASIZE
-
-    //Metodo para recorrer el arbol hacia arriba y verificar que se cumpla condicion de maxheap
-    private void recorreArriba(int i){
-        int padre = (i-1) / 2;
-        int m = i;
-        if(padre >= 0 && arbol[padre].compareTo(arbol[i]) < 0){
-            m = padre;
-        }
-        if (m!= i) {
-            T a = arbol[i];
-            arbol[i] = arbol[padre];
-            arbol[i].setIndice(i);
-            arbol[padre] = a;
-            arbol[padre].setIndice(padre);
-            recorreArriba(m);
-        }
-    }//FIN DE RECORREARRIBA
-    
     /**
-     * Elimina el elemento maximo del monticulo
+     * Constructor que recibe un monticulo minimo. Se reutiliza su arreglo y se
+     * reordena en O(n), por lo que el monticulo recibido queda vacio.
+     * @param min
      */
-    public T delete(){
-        if(elementos == 0){
-            throw new IllegalStateException("Monticulo vacio");
-        }
-        T e = arbol[0];
-        boolean bool = delete(e);
-        if(bool){
-            return e;
-        }
-        else{
-            return null;
-        }
-
-    }
+    public MonticuloMaximo(MonticuloMinimo<T> min){
+        super(min, Comparator.reverseOrder());
+    }//FIN DE CONSTRUCTOR 4
 
     /**
-     * Elimina un elmento del monticulo
+     * Reacomoda un elemento cuyo valor disminuyo
+     * @param elemento El elemento modificado
+     * @throws IllegalArgumentException si el elemento no esta en el monticulo
      */
-    public boolean delete(T elemento){
-        if(elemento ==null || isEmpty() ){
-            return false;
-        }
-        if(!contains(elemento)){
-            return false;
-        }
-        int i = elemento.getIndice();
-        if(i <0 || elementos <=i )
-            return false;
-        swap(arbol[i], arbol[elementos -1]);
-        arbol[elementos -1] = null;
-        elementos --;
-        recorreAbajo(i);
-        return true;
-    }//FIN DE DELETE
-
-    
-    //Metodo para recorrer el arbol hacia arriba y verificar que se cumpla condicion de maxheap
-    private void recorreAbajo(int i){
-        if(i < 0){
-            return;
-        }
-        int izq = 2*i +1;
-        int der = 2*i +2;
-        int max = der;
-        if(izq >= elementos && der >= elementos){
-            return;
-        }
-        if(izq < elementos){
-            if (der < elementos) {
-                if (arbol[izq].compareTo(arbol[der]) >0 ) {
-                    max = izq;
-                }
-            }
-            else{
-                max = izq;
-            }
-        }
-        if(arbol[max].compareTo(arbol[i])>0){
-            swap(arbol[i], arbol[max]);
-            recorreAbajo(max);
-            //Validar la recursion. 
-            recorreAbajo(i);
-        }
-    }//FIN  DE RECORRE ABAJO
-
-
-    @Override public boolean contains(T elemento){
-        for(T e: arbol){
-            if(elemento.equals(e))
-                return true;
-        }
-        return false;
-    }//FIN DE CONTAINS
-
-    @Override public boolean isEmpty(){
-        return elementos == 0;
-    }//FIN DE ISEMPTY
-    
-    @Override
-    public void empty() {
-        for (int i = 0; i < elementos; i++) {
-            arbol[i] = null;
-        }
-        elementos = 0;
-    }//FIN DE EMPTY
-
-    @Override
-    public int size(){
-        return elementos;
-    }//FIN DE SIZE
-
-    public T get(int i){
-        if (i< 0 || i>= elementos) {
-            throw new NoSuchElementException("Indice no valido");
-        }
-        return arbol[i];
-    }//FIN DE GET
-
-
-    @Override public String toString(){
-        String resultado ="";
-        for (int i = 0; i <elementos; i++) {
-            resultado += arbol[i].toString() + ",";
-        }
-        return resultado;
-    }//FIN DE TOSTRING
-
-    @Override
-    public boolean equals(Object obj) {
-        if(obj==null || getClass() != obj.getClass()){
-            return false;
-        }
-        @SuppressWarnings("unchecked") MonticuloMaximo<T> monticulo = (MonticuloMaximo<T>)obj;
-        if (elementos != monticulo.elementos) {
-            return false;
-        }
-        for (int i = 0; i < elementos; i++) {
-            if(!arbol[i].equals(monticulo.arbol[i])){
-                return false;
-            }
-        }
-        return true;
-    }//FIN DE EQUALS
+    public void decreaseKey(T elemento){
+        verificaElemento(elemento);
+        recorreAbajo(elemento.getIndice());
+        limpiaRaiz();
+    }//FIN DE DECREASEKEY
 
     /**
-     * Regresa un iterador para iterar el monticulo minimo. El monticulo se
-     * itera en orden BFS.
-     * 
-     * @return un iterador para iterar el monticulo minimo.
+     * Reacomoda un elemento cuyo valor aumento
+     * @param elemento El elemento modificado
+     * @throws IllegalArgumentException si el elemento no esta en el monticulo
      */
-    @Override
-    public Iterator<T> iterator() {
-        return new Iterador();
-    }//FIN DE ITERATOR
+    public void increaseKey(T elemento){
+        verificaElemento(elemento);
+        recorreArriba(elemento.getIndice());
+    }//FIN DE INCREASEKEY
 
 
     /**
@@ -358,18 +135,13 @@ public class MonticuloMaximo<T extends ComparableIndexable<T>> implements Collec
     }//FIN DE ESMONTMAX
 
     /**
-     * Metodo para convertir un monticulo minimo a uno maximo
+     * Metodo para convertir un monticulo minimo a uno maximo en O(n). El
+     * monticulo recibido queda vacio.
      * @param montMin
      * @return
      */
     public MonticuloMaximo<T> MontMin_MontMax(MonticuloMinimo<T> montMin){
-        MonticuloMaximo<T> m=new MonticuloMaximo<T>();
-        int n=montMin.size();
-        for(int i=0;i<n;i++){
-            T e=montMin.delete();
-            m.add(e);
-        }
-        return m;
+        return new MonticuloMaximo<T>(montMin);
     }//FIN DE MONTMIN_MONTMAX
 
 
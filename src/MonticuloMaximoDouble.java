@@ -0,0 +1,100 @@
+package src.edd;
+
+/**
+ * Clase para monticulos maximos de valores <code>double</code>.
+ * Guarda los valores negados en un MonticuloMinimoDouble: negar invierte el
+ * orden de todos los double que no son NaN, y -0.0 y 0.0 siguen siendo
+ * iguales para el monticulo.
+ */
+public class MonticuloMaximoDouble {
+
+    /* Los valores negados, el maximo queda en la raiz */
+    private final MonticuloMinimoDouble invertido;
+
+    /**
+     * Constructor sin parametros
+     */
+    public MonticuloMaximoDouble(){
+        invertido = new MonticuloMinimoDouble();
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe un arreglo de valores, el arreglo no se modifica
+     * @param arreglo
+     */
+    public MonticuloMaximoDouble(double[] arreglo){
+        double[] arbol = new double[Math.max(arreglo.length, 1)];
+        for(int i = 0; i < arreglo.length; i++){
+            arbol[i] = -arreglo[i];
+        }
+        invertido = new MonticuloMinimoDouble(arbol, arreglo.length);
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Metodo para awadir un valor al heap
+     * @param valor El valor a awadir
+     */
+    public void add(double valor){
+        invertido.add(-valor);
+    }//FIN DE ADD
+
+    /**
+     * Elimina el valor maximo del monticulo
+     * @return el valor eliminado
+     */
+    public double delete(){
+        return -invertido.delete();
+    }//FIN DE DELETE()
+
+    /**
+     * Regresa el valor maximo del monticulo sin eliminarlo
+     * @return el valor maximo
+     * @throws java.util.NoSuchElementException si el monticulo es vacio
+     */
+    public double peek(){
+        return -invertido.peek();
+    }//FIN DE PEEK
+
+    public boolean isEmpty(){
+        return invertido.isEmpty();
+    }//FIN DE ISEMPTY
+
+    public void empty() {
+        invertido.empty();
+    }//FIN DE EMPTY
+
+    public int size(){
+        return invertido.size();
+    }//FIN DE SIZE
+
+    /**
+     * Metodo para obtener el valor en el indice i del heap
+     * @param i
+     * @return
+     */
+    public double get(int i){
+        return -invertido.get(i);
+    }//FIN DE GET
+
+    @Override public String toString(){
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i < invertido.size(); i++) {
+            resultado.append(get(i)).append(",");
+        }
+        return resultado.toString();
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        return invertido.equals(((MonticuloMaximoDouble)obj).invertido);
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        return invertido.hashCode();
+    }//FIN DE HASHCODE
+
+}
@@ -0,0 +1,100 @@
+package src.edd;
+
+/**
+ * Clase para monticulos maximos de valores <code>int</code>.
+ * Guarda el complemento de cada valor (~valor) en un MonticuloMinimoInt.
+ * El complemento invierte el orden sin desbordarse, a diferencia de -valor
+ * con Integer.MIN_VALUE.
+ */
+public class MonticuloMaximoInt {
+
+    /* Los complementos de los valores, el maximo queda en la raiz */
+    private final MonticuloMinimoInt invertido;
+
+    /**
+     * Constructor sin parametros
+     */
+    public MonticuloMaximoInt(){
+        invertido = new MonticuloMinimoInt();
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe un arreglo de valores, el arreglo no se modifica
+     * @param arreglo
+     */
+    public MonticuloMaximoInt(int[] arreglo){
+        int[] arbol = new int[Math.max(arreglo.length, 1)];
+        for(int i = 0; i < arreglo.length; i++){
+            arbol[i] = ~arreglo[i];
+        }
+        invertido = new MonticuloMinimoInt(arbol, arreglo.length);
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Metodo para awadir un valor al heap
+     * @param valor El valor a awadir
+     */
+    public void add(int valor){
+        invertido.add(~valor);
+    }//FIN DE ADD
+
+    /**
+     * Elimina el valor maximo del monticulo
+     * @return el valor eliminado
+     */
+    public int delete(){
+        return ~invertido.delete();
+    }//FIN DE DELETE()
+
+    /**
+     * Regresa el valor maximo del monticulo sin eliminarlo
+     * @return el valor maximo
+     * @throws java.util.NoSuchElementException si el monticulo es vacio
+     */
+    public int peek(){
+        return ~invertido.peek();
+    }//FIN DE PEEK
+
+    public boolean isEmpty(){
+        return invertido.isEmpty();
+    }//FIN DE ISEMPTY
+
+    public void empty() {
+        invertido.empty();
+    }//FIN DE EMPTY
+
+    public int size(){
+        return invertido.size();
+    }//FIN DE SIZE
+
+    /**
+     * Metodo para obtener el valor en el indice i del heap
+     * @param i
+     * @return
+     */
+    public int get(int i){
+        return ~invertido.get(i);
+    }//FIN DE GET
+
+    @Override public String toString(){
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i < invertido.size(); i++) {
+            resultado.append(get(i)).append(",");
+        }
+        return resultado.toString();
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        return invertido.equals(((MonticuloMaximoInt)obj).invertido);
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        return invertido.hashCode();
+    }//FIN DE HASHCODE
+
+}
@@ -0,0 +1,375 @@
+package src.edd;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos min-max: en un solo arreglo se puede consultar el
+ * menor y el mayor elemento en O(1) y eliminar cualquiera de los dos en
+ * O(log n). Los niveles pares del arbol (la raiz esta en el nivel 0) son
+ * niveles minimos, donde cada vertice es menor o igual que sus descendientes,
+ * y los niveles impares son niveles maximos, donde cada vertice es mayor o
+ * igual que sus descendientes.
+ */
+public class MonticuloMinMax<T> implements Collection<T> {
+
+    /**
+     * Clase para iteradores del monticulo, recorre el arreglo en orden BFS
+     */
+    private class Iterador implements Iterator<T>{
+
+        private int indice;
+
+        @Override public boolean hasNext(){
+            return indice < elementos;
+        }
+
+        @Override public T next(){
+            if (hasNext()) {
+                return arbol[indice++];
+            }
+            throw new NoSuchElementException("No hay, no existe");
+        }
+    }//FIN DE CLASE ITERADOR
+
+    /* numero de elementos en el arreglo */
+    private int elementos;
+    /* Nuestro arbol representado como arreglo */
+    private T[] arbol;
+    /* El comparador que define el orden */
+    private final Comparator<? super T> comparador;
+
+    /* Capacidad del arreglo cuando no se indica otra */
+    private static final int CAPACIDAD_INICIAL = 100;
+
+    /**
+     * Constructor que recibe el comparador
+     * @param comparador El comparador que define el orden
+     * @throws IllegalArgumentException si el comparador es null
+     */
+    public MonticuloMinMax(Comparator<? super T> comparador){
+        this(comparador, CAPACIDAD_INICIAL);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe el comparador y la capacidad inicial del arreglo
+     * @param comparador El comparador que define el orden
+     * @param capacidad La capacidad inicial
+     * @throws IllegalArgumentException si el comparador es null o la
+     *         capacidad es menor a 1
+     */
+    @SuppressWarnings("unchecked")
+    public MonticuloMinMax(Comparator<? super T> comparador, int capacidad){
+        if(comparador == null){
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        if(capacidad < 1){
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        this.comparador = comparador;
+        this.arbol = (T[])new Object[capacidad];
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Agrega un elemento al monticulo en O(log n)
+     * @param elemento El elemento a agregar
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    @Override public void add(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("El elemento no puede ser null");
+        }
+        if(elementos == arbol.length){
+            duplicaSize();
+        }
+        int i = elementos++;
+        arbol[i] = elemento;
+        if(i == 0){
+            return;
+        }
+        int padre = (i-1) / 2;
+        if(esNivelMin(i)){
+            if(compara(arbol[i], arbol[padre]) > 0){
+                intercambia(i, padre);
+                subeMax(padre);
+            }
+            else{
+                subeMin(i);
+            }
+        }
+        else{
+            if(compara(arbol[i], arbol[padre]) < 0){
+                intercambia(i, padre);
+                subeMin(padre);
+            }
+            else{
+                subeMax(i);
+            }
+        }
+    }//FIN DE ADD
+
+    /**
+     * Regresa el menor elemento sin eliminarlo
+     * @return el menor elemento
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public T peekMin(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return arbol[0];
+    }//FIN DE PEEKMIN
+
+    /**
+     * Regresa el mayor elemento sin eliminarlo
+     * @return el mayor elemento
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public T peekMax(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return arbol[indiceMax()];
+    }//FIN DE PEEKMAX
+
+    /**
+     * Elimina el menor elemento en O(log n)
+     * @return el menor elemento
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public T deleteMin(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        return eliminaEn(0);
+    }//FIN DE DELETEMIN
+
+    /**
+     * Elimina el mayor elemento en O(log n)
+     * @return el mayor elemento
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public T deleteMax(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        return eliminaEn(indiceMax());
+    }//FIN DE DELETEMAX
+
+    //Quita el elemento en la posicion i, que es la del minimo o la del maximo
+    private T eliminaEn(int i){
+        T e = arbol[i];
+        elementos--;
+        arbol[i] = arbol[elementos];
+        arbol[elementos] = null;
+        if(i < elementos){
+            if(esNivelMin(i)){
+                bajaMin(i);
+            }
+            else{
+                bajaMax(i);
+            }
+        }
+        return e;
+    }//FIN DE ELIMINAEN
+
+    //Regresa la posicion del mayor elemento, que es la raiz o uno de sus hijos
+    private int indiceMax(){
+        if(elementos == 1){
+            return 0;
+        }
+        if(elementos == 2 || compara(arbol[1], arbol[2]) >= 0){
+            return 1;
+        }
+        return 2;
+    }//FIN DE INDICEMAX
+
+    //Nos dice si la posicion i esta en un nivel minimo
+    private static boolean esNivelMin(int i){
+        return ((31 - Integer.numberOfLeadingZeros(i + 1)) & 1) == 0;
+    }//FIN DE ESNIVELMIN
+
+    //Sube un elemento de un nivel minimo saltando de abuelo en abuelo
+    private void subeMin(int i){
+        while(i > 2){
+            int abuelo = ((i-1) / 2 - 1) / 2;
+            if(compara(arbol[i], arbol[abuelo]) >= 0){
+                break;
+            }
+            intercambia(i, abuelo);
+            i = abuelo;
+        }
+    }//FIN DE SUBEMIN
+
+    //Sube un elemento de un nivel maximo saltando de abuelo en abuelo
+    private void subeMax(int i){
+        while(i > 2){
+            int abuelo = ((i-1) / 2 - 1) / 2;
+            if(compara(arbol[i], arbol[abuelo]) <= 0){
+                break;
+            }
+            intercambia(i, abuelo);
+            i = abuelo;
+        }
+    }//FIN DE SUBEMAX
+
+    //Baja un elemento de un nivel minimo hasta su lugar
+    private void bajaMin(int i){
+        while(2*i +1 < elementos){
+            int m = menorDescendiente(i);
+            if(compara(arbol[m], arbol[i]) >= 0){
+                return;
+            }
+            intercambia(m, i);
+            if(m <= 2*i +2){
+                //Era un hijo, que esta en un nivel maximo y no tiene que seguir bajando
+                return;
+            }
+            int padre = (m-1) / 2;
+            if(compara(arbol[m], arbol[padre]) > 0){
+                intercambia(m, padre);
+            }
+            i = m;
+        }
+    }//FIN DE BAJAMIN
+
+    //Baja un elemento de un nivel maximo hasta su lugar
+    private void bajaMax(int i){
+        while(2*i +1 < elementos){
+            int m = mayorDescendiente(i);
+            if(compara(arbol[m], arbol[i]) <= 0){
+                return;
+            }
+            intercambia(m, i);
+            if(m <= 2*i +2){
+                //Era un hijo, que esta en un nivel minimo y no tiene que seguir bajando
+                return;
+            }
+            int padre = (m-1) / 2;
+            if(compara(arbol[m], arbol[padre]) < 0){
+                intercambia(m, padre);
+            }
+            i = m;
+        }
+    }//FIN DE BAJAMAX
+
+    //Regresa la posicion del menor entre los hijos y nietos de i
+    private int menorDescendiente(int i){
+        int m = 2*i +1;
+        if(m +1 < elementos && compara(arbol[m +1], arbol[m]) < 0){
+            m++;
+        }
+        //Los nietos ocupan posiciones consecutivas
+        int fin = Math.min(4*i +7, elementos);
+        for(int c = 4*i +3; c < fin; c++){
+            if(compara(arbol[c], arbol[m]) < 0){
+                m = c;
+            }
+        }
+        return m;
+    }//FIN DE MENORDESCENDIENTE
+
+    //Regresa la posicion del mayor entre los hijos y nietos de i
+    private int mayorDescendiente(int i){
+        int m = 2*i +1;
+        if(m +1 < elementos && compara(arbol[m +1], arbol[m]) > 0){
+            m++;
+        }
+        //Los nietos ocupan posiciones consecutivas
+        int fin = Math.min(4*i +7, elementos);
+        for(int c = 4*i +3; c < fin; c++){
+            if(compara(arbol[c], arbol[m]) > 0){
+                m = c;
+            }
+        }
+        return m;
+    }//FIN DE MAYORDESCENDIENTE
+
+    //Compara dos elementos segun el comparador
+    private int compara(T a, T b){
+        return comparador.compare(a, b);
+    }//FIN DE COMPARA
+
+    //Intercambia los elementos de dos posiciones
+    private void intercambia(int i, int j){
+        T aux = arbol[i];
+        arbol[i] = arbol[j];
+        arbol[j] = aux;
+    }//FIN DE INTERCAMBIA
+
+    //Metodo para duplicar el tamawo del arreglo de nuestro arbol
+    @SuppressWarnings("unchecked")
+    private void duplicaSize(){
+        T[] arr = (T[])new Object[arbol.length * 2];
+        System.arraycopy(arbol, 0, arr, 0, elementos);
+        arbol = arr;
+    }//FIN DE DUPLICASIZE
+
+    @Override public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    @Override public boolean contains(T elemento){
+        for(int i = 0; i < elementos; i++){
+            if(arbol[i].equals(elemento)){
+                return true;
+            }
+        }
+        return false;
+    }//FIN DE CONTAINS
+
+    @Override public void empty(){
+        for(int i = 0; i < elementos; i++){
+            arbol[i] = null;
+        }
+        elementos = 0;
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    @Override public String toString(){
+        String resultado = "";
+        for(int i = 0; i < elementos; i++){
+            resultado += arbol[i].toString() + ",";
+        }
+        return resultado;
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        @SuppressWarnings("unchecked") MonticuloMinMax<T> monticulo = (MonticuloMinMax<T>)obj;
+        if(elementos != monticulo.elementos){
+            return false;
+        }
+        for(int i = 0; i < elementos; i++){
+            if(!arbol[i].equals(monticulo.arbol[i])){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for(int i = 0; i < elementos; i++){
+            hash = 31 * hash + arbol[i].hashCode();
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+    /**
+     * Regresa un iterador para el monticulo, en orden BFS
+     * @return el iterador
+     */
+    @Override public Iterator<T> iterator(){
+        return new Iterador();
+    }//FIN DE ITERATOR
+
+}
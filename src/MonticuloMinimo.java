@@ -1,8 +1,9 @@
 package src.edd;
 
-import java.time.Year;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import src.edd.Collection;
 import src.edd.MonticuloMaximo;
@@ -11,89 +12,47 @@ import src.edd.MonticuloMaximo;
  * 
  * Clase para monticulos minimos (Minheaps)
 */
-public class MonticuloMinimo<T extends ComparableIndexable<T>> implements Collection<T>{
-    
+public class MonticuloMinimo<T extends ComparableIndexable<T>> extends Monticulo<T>{
+
     /**
-     * Clase para iteradores de monticulos
+     * Constructor sin parametros;
      */
-    private class Iterador implements Iterator<T>{
-        
-        private int indice;
-
-        @Override public boolean hasNext(){
-            return indice < elementos;
-        }
-
-        @Override public T next(){
-            if (hasNext()) {
-                return arbol[indice++];
-            }
-            throw new NoSuchElementException("No hay, no existe");
-        }
-    }//FIN DE cLASE ITERADOR
+    public MonticuloMinimo(){
+        this(2);
+    }//FIN DE CONSTRUCTOR 1
 
     /**
-     * Clase para Adaptadores
+     * Constructor que recibe el numero de hijos de cada vertice
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @throws IllegalArgumentException si la aridad es menor a 2
      */
-    private static class Adaptador<T extends Comparable<T>> implements ComparableIndexable<Adaptador<T>>{
-        /* El elemento. */
-        private T elemento;
-        /* El indice. */
-        private int indice;
-
-        /* Crea un nuevo comparable indexable. */
-        public Adaptador(T elemento) {
-            this.elemento = elemento;
-            this.indice = -1;
-        }
-
-        /* Regresa el indice. */
-        @Override
-        public int getIndice() {
-            return this.indice;
-        }
-
-        /* Define el indice. */
-        @Override
-        public void setIndice(int indice) {
-            this.indice = indice;
-        }
+    public MonticuloMinimo(int aridad){
+        super(Comparator.naturalOrder(), aridad);
+    }//FIN DE CONSTRUCTOR ARIDAD
 
-        /* Compara un indexable con otro. */
-        @Override
-        public int compareTo(Adaptador<T> adaptador) {
-            return this.elemento.compareTo(adaptador.elemento);
-        }
-
-        public String toString(){
-            return "A{"+elemento+" "+indice+"}";
-        }
-
-        public T getElemento(){
-            return elemento;
-        }
-    }//FIN DE CLASE ADAPTADOR
-
-
-    /* numero de elementos en el arreglo */
-    private int elementos;
-    /* Nuestro arbol representado como arreglo */
-    private T[] arbol;
-
-
-    /* Con esto podemos crear arreglos genericos sin que el compilador marque error */
-    @SuppressWarnings("unchecked") 
-    private T[] nuevoArreglo(int n){
-        return (T[])(new ComparableIndexable[n]);
-    }//FIN DE NUEVOARREGLO
+    /**
+     * Constructor que recibe el numero de hijos de cada vertice y la capacidad
+     * inicial del arreglo
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial, el arreglo no se encoge por debajo de ella
+     * @throws IllegalArgumentException si la aridad es menor a 2 o la capacidad es menor a 1
+     */
+    public MonticuloMinimo(int aridad, int capacidad){
+        super(Comparator.naturalOrder(), aridad, capacidad);
+    }//FIN DE CONSTRUCTOR CAPACIDAD
 
     /**
-     * Constructor sin parametros;
+     * Constructor que recibe el numero de hijos de cada vertice, la capacidad
+     * inicial y un medidor que cuenta las operaciones del monticulo
+     * @param aridad 2 para un monticulo binario, 4 u 8 para monticulos mas bajos
+     * @param capacidad La capacidad inicial, el arreglo no se encoge por debajo de ella
+     * @param medidor El medidor
+     * @throws IllegalArgumentException si la aridad es menor a 2, la capacidad es menor a 1
+     *         o el medidor es null
      */
-    public MonticuloMinimo(){
-        elementos = 0;
-        arbol = nuevoArreglo(100);
-    }//FIN DE CONSTRUCTOR 1
+    public MonticuloMinimo(int aridad, int capacidad, MedidorMonticulo medidor){
+        super(Comparator.naturalOrder(), aridad, capacidad, medidor);
+    }//FIN DE CONSTRUCTOR MEDIDOR
 
     /**
      * Constructor que recibe una coleccion
@@ -109,267 +68,295 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>> implements Collec
      * @param n
      */
     public MonticuloMinimo(Iterable<T> iterable, int n ){
-        elementos = n;
-        arbol = nuevoArreglo(n);
-        int i = 0;
-        for (T e : iterable) {
-           arbol[i] = e;
-           arbol[i].setIndice(i);
-           i ++;
-        }
-        for(int j = (elementos-1) /2; j >= 0; j--){
-            monticuloMin(j);
-            
-        }
+        this(iterable, n, 2);
     }//FIN DE CONSTRUCTOR 3
 
     /**
-     * Constructor que recibe un monticulo maximo
+     * Constructor que recibe un iterable y el numero de hijos de cada vertice
+     * @param iterable
+     * @param n
+     * @param aridad
+     */
+    public MonticuloMinimo(Iterable<T> iterable, int n, int aridad){
+        super(iterable, n, Comparator.naturalOrder(), aridad);
+    }//FIN DE CONSTRUCTOR ITERABLE ARIDAD
+
+    /**
+     * Constructor que recibe un monticulo maximo. Se reutiliza su arreglo y se
+     * reordena en O(n), por lo que el monticulo recibido queda vacio.
      * @param max
      */
     public MonticuloMinimo(MonticuloMaximo<T> max){
-        MonticuloMinimo<T> nuevo=new MonticuloMinimo<>();
-        nuevo=nuevo.MontMax_MontMin(max);
-        this.arbol=nuevo.arbol;
-        this.elementos=nuevo.elementos;
+        super(max, Comparator.naturalOrder());
     }//FIN DE CONSTRUCTOR 4
 
-    private void monticuloMin(int i){
-        int izq = i * 2 +1 ;
-        int der = i * 2 + 2;
-        int minimo = i;
-
-        if (elementos <= i) {
-            return;
-        }
-        if(izq < elementos && arbol[izq].compareTo(arbol[i]) < 0){
-            minimo = izq;
-        }
-        if(der < elementos && arbol[der].compareTo(arbol[minimo]) < 0){
-            minimo = der;
-        }
-        if(minimo == i){
-            return;
-        }
-
-        else{
-            swap(arbol[minimo],arbol[i]);
-        }
-    }//FIN DE MONTICULOMIN
-
-    //Metodo para actualizar posiciones e indices
-    private void swap(T i, T j) {
-        int aux = j.getIndice();
-        arbol[i.getIndice()] = j;
-        arbol[j.getIndice()] = i;
-        j.setIndice(i.getIndice());
-        i.setIndice(aux);
-    }//FIN DE SWAP
-
     /**
-     * Metodo para awadir un elemento al heap
-     * @param elemento El elemento a awadir
+     * Reacomoda un elemento cuyo valor disminuyo
+     * @param elemento El elemento modificado
+     * @throws IllegalArgumentException si el elemento no esta en el monticulo
      */
-    @Override public void add(T elemento){
-        if (elementos == arbol.length) {
-            duplicaSize();
-        }
-        elemento.setIndice(elementos);
-        arbol[elementos] = elemento;
-        elementos++;
-        recorreArriba(elementos - 1);
-    }//FIN DE ADD
-
-    //Metodo para duplicar el tamawo del arreglo de nuestro arbol
-    private void duplicaSize(){
-        T[] arr = nuevoArreglo(arbol.length * 2);
-        elementos = 0;
-        for(T e: arbol){
-            arr[elementos++] = e;
-        }
-        this.arbol = arr;
-    }//FIN DE DUPLICASIZE
-
-    //Metodo para recorrer el arbol hacia arriba y verificar que se cumpla condicion de minheap
-    private void recorreArriba(int i){
-        int padre = (i-1) / 2;
-        int m = i;
-        if(padre >= 0 && arbol[padre].compareTo(arbol[i]) > 0){
-            m = padre;
-        }
-        if (m!= i) {
-            T a = arbol[i];
-            arbol[i] = arbol[padre];
-            arbol[i].setIndice(i);
-            arbol[padre] = a;
-            arbol[padre].setIndice(padre);
-            recorreArriba(m);
-        }
-    }//FIN DE RECORREARRIBA
-    
+    public void decreaseKey(T elemento){
+        verificaElemento(elemento);
+        recorreArriba(elemento.getIndice());
+    }//FIN DE DECREASEKEY
+
     /**
-     * Elimina el elemento minimo del monticulo
+     * Reacomoda un elemento cuyo valor aumento
+     * @param elemento El elemento modificado
+     * @throws IllegalArgumentException si el elemento no esta en el monticulo
      */
-    public T delete(){
-        if(elementos == 0){
-            throw new IllegalStateException("Monticulo vacio");
-        }
-        T e = arbol[0];
-        boolean bool = delete(e);
-        if(bool){
-            return e;
-        }
-        else{
-            return null;
-        }
-    }//FIN DE DELETE()
+    public void increaseKey(T elemento){
+        verificaElemento(elemento);
+        recorreAbajo(elemento.getIndice());
+        limpiaRaiz();
+    }//FIN DE INCREASEKEY
 
     /**
-     * Elimina un elmento del monticulo
-     */
-    public boolean delete(T elemento){
-        if(elemento ==null || isEmpty() ){
-            return false;
+    * Ordena la coleccion usando HeapSort.
+    * @param <T> tipo del que puede ser el arreglo.
+    * @param coleccion la coleccion a ordenar.
+    * @return una lista ordenada con los elementos de la coleccion.
+    */
+    public static <T extends Comparable<T>> Lista<T> heapSort(Collection<T> coleccion) {
+        //El arreglo debe ser de Comparable porque T[] se borra a Comparable[]
+        @SuppressWarnings("unchecked") T[] arreglo = (T[])new Comparable<?>[coleccion.size()];
+        int n = 0;
+        for (T e : coleccion) {
+            arreglo[n++] = e;
         }
-        if(!contains(elemento)){
-            return false;
+        heapSort(arreglo, Comparator.naturalOrder());
+        Lista<T> l = new Lista<T>();
+        for (T e : arreglo) {
+            l.add(e);
         }
-        int i = elemento.getIndice();
-        if(i <0 || elementos <=i )
-            return false;
-        swap(arbol[i], arbol[elementos -1]);
-        arbol[elementos -1] = null;
-        elementos --;
-        recorreAbajo(i);
-        return true;
-    }//FIN DE DELETE(ELEM)
+        return l;
+    }//FIN DE HEAPSORT
 
-    
-    //Metodo para recorrer el arbol hacia abajo y verificar que se cumpla condicion de minheap
-    private void recorreAbajo(int i){
-        if(i < 0){
-            return;
-        }
-        int izq = 2*i +1;
-        int der = 2*i +2;
-        int min = der;
-        if(izq >= elementos && der >= elementos){
-            return;
-        }
-        if(izq < elementos){
-            if (der < elementos) {
-                if (arbol[izq].compareTo(arbol[der]) <0 ) {
-                    min = izq;
-                }
+    /**
+     * Ordena el arreglo con HeapSort sobre el mismo arreglo, sin memoria extra.
+     * @param <T> tipo de los elementos del arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador que define el orden.
+     */
+    public static <T> void heapSort(T[] arreglo, Comparator<? super T> comparador) {
+        heapSort(arreglo, 0, arreglo.length, comparador);
+    }//FIN DE HEAPSORT(ARREGLO)
+
+    //Ordena el subarreglo [desde, hasta) con un monticulo maximo sobre el mismo arreglo
+    private static <T> void heapSort(T[] a, int desde, int hasta, Comparator<? super T> c) {
+        int n = hasta - desde;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hunde(a, desde, i, n, c);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            T maximo = a[desde];
+            a[desde] = a[desde + fin];
+            a[desde + fin] = maximo;
+            hunde(a, desde, 0, fin, c);
+        }
+    }//FIN DE HEAPSORT(SUBARREGLO)
+
+    //Baja el elemento i de un monticulo maximo que empieza en desde y tiene n elementos
+    private static <T> void hunde(T[] a, int desde, int i, int n, Comparator<? super T> c) {
+        T elemento = a[desde + i];
+        int mitad = n / 2;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && c.compare(a[desde + hijo + 1], a[desde + hijo]) > 0) {
+                hijo++;
             }
-            else{
-                min = izq;
+            if (c.compare(a[desde + hijo], elemento) <= 0) {
+                break;
             }
+            a[desde + i] = a[desde + hijo];
+            i = hijo;
         }
-        if(arbol[min].compareTo(arbol[i])<0){
-            swap(arbol[i], arbol[min]);
-            recorreAbajo(min);
-            //Validar la recursion. 
-            recorreAbajo(i);
-        }
-    }//FIN DE RECORREABAJO
-
-    @Override public boolean contains(T elemento){
-        for(T e: arbol){
-            if(elemento.equals(e))
-                return true;
-        }
-        return false;
-    }//FIN DE CONTAINS
-
-    @Override public boolean isEmpty(){
-        return elementos == 0;
-    }//FIN DE ISEMPTY
-    
-    @Override
-    public void empty() {
-        for (int i = 0; i < elementos; i++) {
-            arbol[i] = null;
-        }
-        elementos = 0;
-    }//FIN DE EMPTY
-
-    @Override
-    public int size(){
-        return elementos;
-    }//FIN DE SIZE
+        a[desde + i] = elemento;
+    }//FIN DE HUNDE
 
     /**
-     * Metodo para obtener el elemento en el indice i del heap
-     * @param i
-     * @return
+     * Ordena el arreglo de enteros con HeapSort sobre el mismo arreglo.
+     * @param arreglo el arreglo a ordenar.
      */
-    public T get(int i){
-        if (i< 0 || i>= elementos) {
-            throw new NoSuchElementException("Indice no valido");
+    public static void heapSort(int[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hunde(arreglo, i, n);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            int maximo = arreglo[0];
+            arreglo[0] = arreglo[fin];
+            arreglo[fin] = maximo;
+            hunde(arreglo, 0, fin);
+        }
+    }//FIN DE HEAPSORT(INT)
+
+    //Baja el elemento i de un monticulo maximo de n enteros
+    private static void hunde(int[] a, int i, int n) {
+        int elemento = a[i];
+        int mitad = n / 2;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && a[hijo + 1] > a[hijo]) {
+                hijo++;
+            }
+            if (a[hijo] <= elemento) {
+                break;
+            }
+            a[i] = a[hijo];
+            i = hijo;
         }
-        return arbol[i];
-    }//FIN DE GET
-
+        a[i] = elemento;
+    }//FIN DE HUNDE(INT)
 
-    @Override public String toString(){
-        String resultado ="";
-        for (int i = 0; i <elementos; i++) {
-            resultado += arbol[i].toString() + ",";
+    /**
+     * Ordena el arreglo de longs con HeapSort sobre el mismo arreglo.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(long[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hunde(arreglo, i, n);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            long maximo = arreglo[0];
+            arreglo[0] = arreglo[fin];
+            arreglo[fin] = maximo;
+            hunde(arreglo, 0, fin);
+        }
+    }//FIN DE HEAPSORT(LONG)
+
+    //Baja el elemento i de un monticulo maximo de n longs
+    private static void hunde(long[] a, int i, int n) {
+        long elemento = a[i];
+        int mitad = n / 2;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && a[hijo + 1] > a[hijo]) {
+                hijo++;
+            }
+            if (a[hijo] <= elemento) {
+                break;
+            }
+            a[i] = a[hijo];
+            i = hijo;
         }
-        return resultado;
-    }//FIN DE TOSTRING
+        a[i] = elemento;
+    }//FIN DE HUNDE(LONG)
 
-    @Override
-    public boolean equals(Object obj) {
-        if(obj==null || getClass() != obj.getClass()){
-            return false;
-        }
-        @SuppressWarnings("unchecked") MonticuloMinimo<T> monticulo = (MonticuloMinimo<T>)obj;
-        if (elementos != monticulo.elementos) {
-            return false;
-        }
-        for (int i = 0; i < elementos; i++) {
-            if(!arbol[i].equals(monticulo.arbol[i])){
-                return false;
+    /**
+     * Ordena el arreglo de doubles con HeapSort sobre el mismo arreglo. Usa el
+     * orden de Double.compare, por lo que los NaN quedan al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(double[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hunde(arreglo, i, n);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            double maximo = arreglo[0];
+            arreglo[0] = arreglo[fin];
+            arreglo[fin] = maximo;
+            hunde(arreglo, 0, fin);
+        }
+    }//FIN DE HEAPSORT(DOUBLE)
+
+    //Baja el elemento i de un monticulo maximo de n doubles
+    private static void hunde(double[] a, int i, int n) {
+        double elemento = a[i];
+        int mitad = n / 2;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && Double.compare(a[hijo + 1], a[hijo]) > 0) {
+                hijo++;
             }
+            if (Double.compare(a[hijo], elemento) <= 0) {
+                break;
+            }
+            a[i] = a[hijo];
+            i = hijo;
         }
-        return true;
-    }//FIN DE EQUALS
+        a[i] = elemento;
+    }//FIN DE HUNDE(DOUBLE)
 
     /**
-     * Regresa un iterador para iterar el monticulo minimo. El monticulo se
-     * itera en orden BFS.
-     * 
-     * @return un iterador para iterar el monticulo minimo.
+     * Ordena el arreglo en paralelo: cada hilo ordena un pedazo con HeapSort y
+     * despues los pedazos se mezclan. La mezcla usa un arreglo auxiliar de a
+     * lo mas la mitad del tamawo del arreglo.
+     * @param <T> tipo de los elementos del arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador que define el orden.
      */
-    @Override
-    public Iterator<T> iterator() {
-        return new Iterador();
-    }//FIN DE ITERATOR
+    public static <T> void heapSortParalelo(T[] arreglo, Comparator<? super T> comparador) {
+        if (arreglo.length <= UMBRAL_PARALELO) {
+            heapSort(arreglo, comparador);
+            return;
+        }
+        @SuppressWarnings("unchecked") T[] auxiliar = (T[])new Object[(arreglo.length + 1) / 2];
+        ForkJoinPool.commonPool().invoke(new OrdenaParalelo<T>(arreglo, auxiliar, 0, arreglo.length, comparador));
+    }//FIN DE HEAPSORTPARALELO
+
+    /* Tamawo de los pedazos que se ordenan en un solo hilo */
+    private static final int UMBRAL_PARALELO = 1 << 13;
 
     /**
-    * Ordena la coleccion usando HeapSort.
-    * @param <T> tipo del que puede ser el arreglo.
-    * @param coleccion la coleccion a ordenar.
-    * @return una lista ordenada con los elementos de la coleccion.
-    */
-    public static <T extends Comparable<T>> Lista<T> heapSort(Collection<T> coleccion) {
-        Iterator<T> iterador=coleccion.iterator();
-        MonticuloMinimo<Adaptador<T>> monticulo=new MonticuloMinimo<Adaptador<T>>();
-        for(int i=0;i<coleccion.size();i++){
-            Adaptador<T> actual=new Adaptador<T>(iterador.next());
-            monticulo.add(actual);
+     * Tarea que ordena un subarreglo partiendolo en dos mitades
+     */
+    private static class OrdenaParalelo<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final T[] auxiliar;
+        private final int desde;
+        private final int hasta;
+        private final Comparator<? super T> c;
+
+        public OrdenaParalelo(T[] a, T[] auxiliar, int desde, int hasta, Comparator<? super T> c) {
+            this.a = a;
+            this.auxiliar = auxiliar;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.c = c;
+        }
+
+        @Override protected void compute() {
+            if (hasta - desde <= UMBRAL_PARALELO) {
+                heapSort(a, desde, hasta, c);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new OrdenaParalelo<T>(a, auxiliar, desde, mitad, c),
+                      new OrdenaParalelo<T>(a, auxiliar, mitad, hasta, c));
+            mezcla(mitad);
         }
-        Lista<T> l = new Lista<T>();
-        int n=monticulo.size();
-        for(int i=0;i<n;i++){
-            Adaptador<T> e=monticulo.delete();
-            T el=e.elemento;
-            l.add(el);
+
+        //Mezcla [desde, mitad) con [mitad, hasta), copiando solo la mitad izquierda
+        private void mezcla(int mitad) {
+            if (c.compare(a[mitad - 1], a[mitad]) <= 0) {
+                return;
+            }
+            int n = mitad - desde;
+            int base = desde / 2;
+            System.arraycopy(a, desde, auxiliar, base, n);
+            int i = 0;
+            int j = mitad;
+            int k = desde;
+            while (i < n && j < hasta) {
+                if (c.compare(a[j], auxiliar[base + i]) < 0) {
+                    a[k++] = a[j++];
+                }
+                else {
+                    a[k++] = auxiliar[base + i++];
+                }
+            }
+            while (i < n) {
+                a[k++] = auxiliar[base + i++];
+            }
+            for (int b = 0; b < n; b++) {
+                auxiliar[base + b] = null;
+            }
         }
-        return l;
-    }//FIN DE HEAPSORT
+    }//FIN DE CLASE ORDENAPARALELO
 
     /**
      * Metodo para saber si un arreglo es monticulo minimo
@@ -413,18 +400,13 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>> implements Collec
     }//FIN DE ESMONTMIN2
 
     /**
-     * Metodo para convertir un monticulo maximo a uno minimo
+     * Metodo para convertir un monticulo maximo a uno minimo en O(n). El
+     * monticulo recibido queda vacio.
      * @param montMax
      * @return
      */
     public MonticuloMinimo<T> MontMax_MontMin(MonticuloMaximo<T> montMax){
-        MonticuloMinimo<T> m=new MonticuloMinimo<T>();
-        int n=montMax.size();
-        for(int i=0;i<n;i++){
-            T e=montMax.delete();
-            m.add(e);
-        }
-        return m;
+        return new MonticuloMinimo<T>(montMax);
     }//FIN DE MONTMAX_MONTMIN
 
 }
\ No newline at end of file
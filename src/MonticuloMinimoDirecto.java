@@ -0,0 +1,366 @@
+package src.edd;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos minimos de registros (llave, carga) de tipo long que
+ * viven fuera del heap de Java, en buffers directos. El recolector de basura
+ * nunca recorre los registros. El monticulo puede guardarse en un archivo
+ * mapeado a memoria para recuperarlo despues de reiniciar el programa.
+ *
+ * La memoria se pide en bloques de tamawo fijo, asi que crecer no copia los
+ * registros que ya estan. Hay que llamar a {@link #close()} al terminar; Java
+ * 17 no tiene una forma publica de liberar un buffer directo o mapeado, asi
+ * que close suelta los buffers y la memoria se devuelve cuando el recolector
+ * de basura los recoge.
+ *
+ * Los cambios al archivo solo estan garantizados en disco despues de
+ * {@link #sincroniza()} o {@link #close()}. add y delete mueven varios
+ * registros, asi que si el programa termina a la mitad de una operacion sin
+ * sincronizar, el archivo puede quedar con registros perdidos o repetidos.
+ */
+public class MonticuloMinimoDirecto implements AutoCloseable {
+
+    /* Bytes por registro: 8 de la llave y 8 de la carga */
+    private static final int BYTES_REGISTRO = 16;
+    /* Registros por bloque, 2^20 registros son 16 MiB */
+    private static final int BITS_BLOQUE = 20;
+    private static final int REGISTROS_BLOQUE = 1 << BITS_BLOQUE;
+    private static final int MASCARA_BLOQUE = REGISTROS_BLOQUE - 1;
+    private static final long BYTES_BLOQUE = (long)REGISTROS_BLOQUE * BYTES_REGISTRO;
+    /* Encabezado del archivo: numero magico y numero de elementos */
+    private static final int BYTES_ENCABEZADO = 16;
+    private static final long MAGICO = 0x4d6f6e7469637531L;
+
+    /* numero de elementos */
+    private int elementos;
+    /* Los bloques de registros */
+    private ByteBuffer[] bloques;
+    /* El numero de bloques en uso */
+    private int numBloques;
+    /* El archivo mapeado, o null si el monticulo solo vive en memoria */
+    private FileChannel canal;
+    /* El encabezado del archivo mapeado */
+    private MappedByteBuffer encabezado;
+
+    /**
+     * Constructor para un monticulo en memoria directa
+     */
+    public MonticuloMinimoDirecto(){
+        bloques = new ByteBuffer[4];
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor para un monticulo guardado en un archivo. Si el archivo ya
+     * tiene un monticulo se recuperan sus elementos.
+     * @param archivo La ruta del archivo
+     * @throws UncheckedIOException si no se puede abrir o mapear el archivo
+     * @throws IllegalArgumentException si el archivo no tiene un monticulo o
+     *         su numero de elementos no cabe en el archivo
+     */
+    public MonticuloMinimoDirecto(Path archivo){
+        bloques = new ByteBuffer[4];
+        try{
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                                     StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        //Si algo falla despues de abrir el archivo, el canal se cierra
+        try{
+            boolean nuevo = canal.size() < BYTES_ENCABEZADO;
+            encabezado = canal.map(FileChannel.MapMode.READ_WRITE, 0, BYTES_ENCABEZADO);
+            encabezado.order(ByteOrder.LITTLE_ENDIAN);
+            if(nuevo){
+                encabezado.putLong(0, MAGICO);
+                encabezado.putLong(8, 0);
+            }
+            else if(encabezado.getLong(0) != MAGICO){
+                throw new IllegalArgumentException("El archivo no contiene un monticulo");
+            }
+            long guardados = encabezado.getLong(8);
+            long caben = (canal.size() - BYTES_ENCABEZADO) / BYTES_REGISTRO;
+            if(guardados < 0 || guardados > caben || guardados > Integer.MAX_VALUE){
+                throw new IllegalArgumentException("El archivo tiene un numero de elementos no valido");
+            }
+            aseguraCapacidad((int)guardados);
+            elementos = (int)guardados;
+        }
+        catch(IOException e){
+            cierraCanal(e);
+            throw new UncheckedIOException(e);
+        }
+        catch(RuntimeException e){
+            cierraCanal(e);
+            throw e;
+        }
+    }//FIN DE CONSTRUCTOR 2
+
+    //Cierra el canal despues de un error, sin perder la excepcion original
+    private void cierraCanal(Exception causa){
+        try{
+            canal.close();
+        }
+        catch(IOException e){
+            causa.addSuppressed(e);
+        }
+    }//FIN DE CIERRACANAL
+
+    //Pide bloques hasta tener lugar para n registros
+    private void aseguraCapacidad(int n){
+        while((long)numBloques * REGISTROS_BLOQUE < n){
+            if(numBloques == bloques.length){
+                ByteBuffer[] nuevos = new ByteBuffer[bloques.length * 2];
+                System.arraycopy(bloques, 0, nuevos, 0, numBloques);
+                bloques = nuevos;
+            }
+            bloques[numBloques] = nuevoBloque(numBloques);
+            numBloques++;
+        }
+    }//FIN DE ASEGURACAPACIDAD
+
+    //Crea el bloque k, en memoria directa o mapeado al archivo
+    private ByteBuffer nuevoBloque(int k){
+        ByteBuffer bloque;
+        if(canal == null){
+            bloque = ByteBuffer.allocateDirect((int)BYTES_BLOQUE);
+        }
+        else{
+            try{
+                bloque = canal.map(FileChannel.MapMode.READ_WRITE, BYTES_ENCABEZADO + k * BYTES_BLOQUE, BYTES_BLOQUE);
+            }
+            catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+        return bloque.order(ByteOrder.LITTLE_ENDIAN);
+    }//FIN DE NUEVOBLOQUE
+
+    //Regresa la llave del registro i
+    private long clave(int i){
+        return bloques[i >>> BITS_BLOQUE].getLong((i & MASCARA_BLOQUE) * BYTES_REGISTRO);
+    }//FIN DE CLAVE
+
+    //Regresa la carga del registro i
+    private long carga(int i){
+        return bloques[i >>> BITS_BLOQUE].getLong((i & MASCARA_BLOQUE) * BYTES_REGISTRO + 8);
+    }//FIN DE CARGA
+
+    //Escribe el registro i
+    private void escribe(int i, long clave, long carga){
+        ByteBuffer bloque = bloques[i >>> BITS_BLOQUE];
+        int desplazamiento = (i & MASCARA_BLOQUE) * BYTES_REGISTRO;
+        bloque.putLong(desplazamiento, clave);
+        bloque.putLong(desplazamiento + 8, carga);
+    }//FIN DE ESCRIBE
+
+    //Actualiza el numero de elementos, tambien en el encabezado del archivo
+    private void cambiaElementos(int n){
+        elementos = n;
+        if(encabezado != null){
+            encabezado.putLong(8, n);
+        }
+    }//FIN DE CAMBIAELEMENTOS
+
+    /**
+     * Agrega un registro al monticulo
+     * @param clave La llave del registro
+     * @param carga La carga del registro
+     * @throws IllegalStateException si el monticulo ya se cerro
+     */
+    public void add(long clave, long carga){
+        verificaAbierto();
+        if(elementos == Integer.MAX_VALUE){
+            throw new IllegalStateException("Monticulo lleno");
+        }
+        aseguraCapacidad(elementos + 1);
+        int i = elementos;
+        while(i > 0){
+            int padre = (i-1) / 2;
+            long clavePadre = clave(padre);
+            if(clave >= clavePadre){
+                break;
+            }
+            escribe(i, clavePadre, carga(padre));
+            i = padre;
+        }
+        escribe(i, clave, carga);
+        cambiaElementos(elementos + 1);
+    }//FIN DE ADD
+
+    /**
+     * Regresa la llave minima sin eliminarla
+     * @return la llave minima
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public long peekClave(){
+        verificaNoVacio();
+        return clave(0);
+    }//FIN DE PEEKCLAVE
+
+    /**
+     * Regresa la carga del registro con la llave minima sin eliminarlo
+     * @return la carga
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public long peekCarga(){
+        verificaNoVacio();
+        return carga(0);
+    }//FIN DE PEEKCARGA
+
+    /**
+     * Elimina el registro con la llave minima. Para conocer su llave hay que
+     * llamar a {@link #peekClave()} antes.
+     * @return la carga del registro eliminado
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public long delete(){
+        verificaAbierto();
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        long resultado = carga(0);
+        int n = elementos - 1;
+        cambiaElementos(n);
+        if(n > 0){
+            long clave = clave(n);
+            long carga = carga(n);
+            int i = 0;
+            int mitad = n / 2;
+            while(i < mitad){
+                int hijo = 2*i +1;
+                long claveHijo = clave(hijo);
+                if(hijo +1 < n){
+                    long claveDer = clave(hijo +1);
+                    if(claveDer < claveHijo){
+                        hijo++;
+                        claveHijo = claveDer;
+                    }
+                }
+                if(claveHijo >= clave){
+                    break;
+                }
+                escribe(i, claveHijo, carga(hijo));
+                i = hijo;
+            }
+            escribe(i, clave, carga);
+        }
+        return resultado;
+    }//FIN DE DELETE
+
+    /**
+     * Regresa la llave del registro en el indice i
+     * @param i El indice
+     * @return la llave
+     */
+    public long getClave(int i){
+        verificaIndice(i);
+        return clave(i);
+    }//FIN DE GETCLAVE
+
+    /**
+     * Regresa la carga del registro en el indice i
+     * @param i El indice
+     * @return la carga
+     */
+    public long getCarga(int i){
+        verificaIndice(i);
+        return carga(i);
+    }//FIN DE GETCARGA
+
+    public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    public void empty(){
+        verificaAbierto();
+        cambiaElementos(0);
+    }//FIN DE EMPTY
+
+    /**
+     * Escribe en disco los cambios del archivo mapeado. No hace nada si el
+     * monticulo solo vive en memoria.
+     */
+    public void sincroniza(){
+        verificaAbierto();
+        if(canal == null){
+            return;
+        }
+        for(int k = 0; k < numBloques; k++){
+            ((MappedByteBuffer)bloques[k]).force();
+        }
+        encabezado.force();
+    }//FIN DE SINCRONIZA
+
+    /**
+     * Cierra el monticulo. Si esta mapeado a un archivo, antes escribe los
+     * cambios en disco y cierra el archivo. Los buffers se sueltan y su
+     * memoria se devuelve cuando los recoge el recolector de basura. Despues
+     * de cerrarlo ya no se puede usar.
+     */
+    @Override public void close(){
+        if(bloques == null){
+            return;
+        }
+        if(canal != null){
+            sincroniza();
+        }
+        bloques = null;
+        encabezado = null;
+        numBloques = 0;
+        elementos = 0;
+        if(canal != null){
+            try{
+                canal.close();
+            }
+            catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+    }//FIN DE CLOSE
+
+    //Verifica que el monticulo no se haya cerrado
+    private void verificaAbierto(){
+        if(bloques == null){
+            throw new IllegalStateException("El monticulo ya se cerro");
+        }
+    }//FIN DE VERIFICAABIERTO
+
+    //Verifica que haya elementos
+    private void verificaNoVacio(){
+        verificaAbierto();
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+    }//FIN DE VERIFICANOVACIO
+
+    //Verifica que el indice sea valido
+    private void verificaIndice(int i){
+        verificaAbierto();
+        if(i < 0 || i >= elementos){
+            throw new NoSuchElementException("Indice no valido");
+        }
+    }//FIN DE VERIFICAINDICE
+
+    @Override public String toString(){
+        StringBuilder resultado = new StringBuilder();
+        for(int i = 0; i < elementos; i++){
+            resultado.append("(").append(clave(i)).append(" ").append(carga(i)).append("),");
+        }
+        return resultado.toString();
+    }//FIN DE TOSTRING
+
+}
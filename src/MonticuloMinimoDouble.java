@@ -0,0 +1,192 @@
+package src.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos minimos de valores <code>double</code>.
+ * Las llaves se guardan directamente en un arreglo de primitivos, por lo que
+ * no hay objetos envoltorio ni indices que actualizar.
+ */
+public class MonticuloMinimoDouble {
+
+    /* numero de elementos en el arreglo */
+    private int elementos;
+    /* Nuestro arbol representado como arreglo */
+    private double[] arbol;
+
+    /**
+     * Constructor sin parametros
+     */
+    public MonticuloMinimoDouble(){
+        elementos = 0;
+        arbol = new double[100];
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe un arreglo de valores, el arreglo no se modifica
+     * @param arreglo
+     */
+    public MonticuloMinimoDouble(double[] arreglo){
+        this(Arrays.copyOf(arreglo, Math.max(arreglo.length, 1)), arreglo.length);
+    }//FIN DE CONSTRUCTOR 2
+
+    //Constructor que se queda con el arreglo recibido y lo reordena en O(n).
+    //MonticuloMaximoDouble lo usa para no copiar dos veces sus valores invertidos.
+    MonticuloMinimoDouble(double[] arbol, int elementos){
+        for (int i = 0; i < elementos; i++) {
+            if (Double.isNaN(arbol[i])) {
+                throw new IllegalArgumentException("NaN no es comparable");
+            }
+        }
+        this.elementos = elementos;
+        this.arbol = arbol;
+        for(int j = elementos / 2 - 1; j >= 0; j--){
+            recorreAbajo(j);
+        }
+    }//FIN DE CONSTRUCTOR 3
+
+    /**
+     * Metodo para awadir un valor al heap
+     * @param valor El valor a awadir
+     */
+    public void add(double valor){
+        if (Double.isNaN(valor)) {
+            throw new IllegalArgumentException("NaN no es comparable");
+        }
+        if (elementos == arbol.length) {
+            duplicaSize();
+        }
+        arbol[elementos] = valor;
+        elementos++;
+        recorreArriba(elementos - 1);
+    }//FIN DE ADD
+
+    //Metodo para duplicar el tamawo del arreglo de nuestro arbol
+    private void duplicaSize(){
+        double[] arr = new double[arbol.length * 2];
+        System.arraycopy(arbol, 0, arr, 0, elementos);
+        this.arbol = arr;
+    }//FIN DE DUPLICASIZE
+
+    //Metodo para recorrer el arbol hacia arriba y verificar que se cumpla condicion de minheap
+    private void recorreArriba(int i){
+        double valor = arbol[i];
+        while(i > 0){
+            int padre = (i-1) / 2;
+            if(!(valor < arbol[padre])){
+                break;
+            }
+            arbol[i] = arbol[padre];
+            i = padre;
+        }
+        arbol[i] = valor;
+    }//FIN DE RECORREARRIBA
+
+    /**
+     * Elimina el valor minimo del monticulo
+     * @return el valor eliminado
+     */
+    public double delete(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        double e = arbol[0];
+        elementos--;
+        if(elementos > 0){
+            arbol[0] = arbol[elementos];
+            recorreAbajo(0);
+        }
+        return e;
+    }//FIN DE DELETE()
+
+    /**
+     * Regresa el valor minimo del monticulo sin eliminarlo
+     * @return el valor minimo
+     * @throws NoSuchElementException si el monticulo es vacio
+     */
+    public double peek(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        return arbol[0];
+    }//FIN DE PEEK
+
+    //Metodo para recorrer el arbol hacia abajo y verificar que se cumpla condicion de minheap
+    private void recorreAbajo(int i){
+        double valor = arbol[i];
+        int mitad = elementos / 2;
+        while(i < mitad){
+            int hijo = 2*i +1;
+            int der = hijo +1;
+            if(der < elementos && arbol[der] < arbol[hijo]){
+                hijo = der;
+            }
+            if(!(arbol[hijo] < valor)){
+                break;
+            }
+            arbol[i] = arbol[hijo];
+            i = hijo;
+        }
+        arbol[i] = valor;
+    }//FIN DE RECORREABAJO
+
+    public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    public void empty() {
+        elementos = 0;
+    }//FIN DE EMPTY
+
+    public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    /**
+     * Metodo para obtener el valor en el indice i del heap
+     * @param i
+     * @return
+     */
+    public double get(int i){
+        if (i< 0 || i>= elementos) {
+            throw new NoSuchElementException("Indice no valido");
+        }
+        return arbol[i];
+    }//FIN DE GET
+
+    @Override public String toString(){
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i <elementos; i++) {
+            resultado.append(arbol[i]).append(",");
+        }
+        return resultado.toString();
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        MonticuloMinimoDouble monticulo = (MonticuloMinimoDouble)obj;
+        if (elementos != monticulo.elementos) {
+            return false;
+        }
+        for (int i = 0; i < elementos; i++) {
+            if(Double.compare(arbol[i], monticulo.arbol[i]) != 0){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < elementos; i++) {
+            hash = 31 * hash + Double.hashCode(arbol[i]);
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+}
@@ -0,0 +1,200 @@
+package src.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para monticulos radix de registros (llave, carga) de tipo long. Solo
+ * sirven cuando las llaves que se eliminan nunca decrecen, como en Dijkstra o
+ * en una simulacion con reloj: cada llave que se agrega debe ser mayor o
+ * igual que la ultima llave eliminada (o consultada con peekClave).
+ *
+ * Los registros se guardan en 65 cubetas segun el bit mas alto en el que su
+ * llave difiere de la ultima llave eliminada. Al vaciarse la cubeta 0 se
+ * busca el minimo de la primera cubeta no vacia y sus registros se reparten
+ * en cubetas menores. Cada registro baja de cubeta a lo mas 64 veces, asi que
+ * agregar cuesta O(1) y eliminar O(log C) amortizado, donde C es la
+ * diferencia entre llaves, casi sin comparaciones.
+ */
+public class MonticuloRadix {
+
+    /* Numero de cubetas: una para llaves iguales y una por cada bit */
+    private static final int CUBETAS = 65;
+    /* Capacidad inicial de cada cubeta */
+    private static final int CAPACIDAD_CUBETA = 16;
+
+    /* numero de elementos */
+    private int elementos;
+    /* La ultima llave eliminada, o el minimo actual si la cubeta 0 tiene elementos */
+    private long ultima;
+    /* Las llaves de cada cubeta */
+    private final long[][] claves;
+    /* Las cargas de cada cubeta */
+    private final long[][] cargas;
+    /* El numero de registros de cada cubeta */
+    private final int[] tamawos;
+
+    /**
+     * Constructor que acepta cualquier llave como primera llave
+     */
+    public MonticuloRadix(){
+        this(Long.MIN_VALUE);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la menor llave que se puede agregar
+     * @param minimo La menor llave valida
+     */
+    public MonticuloRadix(long minimo){
+        ultima = minimo;
+        claves = new long[CUBETAS][];
+        cargas = new long[CUBETAS][];
+        tamawos = new int[CUBETAS];
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Agrega un registro al monticulo en O(1)
+     * @param clave La llave del registro
+     * @param carga La carga del registro
+     * @throws IllegalArgumentException si la llave es menor que la ultima
+     *         eliminada o consultada
+     */
+    public void add(long clave, long carga){
+        if(clave < ultima){
+            throw new IllegalArgumentException("La llave es menor que la ultima eliminada");
+        }
+        mete(cubeta(clave), clave, carga);
+        elementos++;
+    }//FIN DE ADD
+
+    /**
+     * Regresa la llave minima sin eliminarla
+     * @return la llave minima
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public long peekClave(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        llenaCubetaCero();
+        return ultima;
+    }//FIN DE PEEKCLAVE
+
+    /**
+     * Regresa la carga de un registro con la llave minima sin eliminarlo
+     * @return la carga
+     * @throws NoSuchElementException si el monticulo esta vacio
+     */
+    public long peekCarga(){
+        if(elementos == 0){
+            throw new NoSuchElementException("Monticulo vacio");
+        }
+        llenaCubetaCero();
+        return cargas[0][tamawos[0] - 1];
+    }//FIN DE PEEKCARGA
+
+    /**
+     * Elimina un registro con la llave minima. Su llave se puede consultar
+     * despues con {@link #getUltimaClave()}.
+     * @return la carga del registro eliminado
+     * @throws IllegalStateException si el monticulo esta vacio
+     */
+    public long delete(){
+        if(elementos == 0){
+            throw new IllegalStateException("Monticulo vacio");
+        }
+        llenaCubetaCero();
+        elementos--;
+        return cargas[0][--tamawos[0]];
+    }//FIN DE DELETE
+
+    /**
+     * Regresa la llave del ultimo registro eliminado, que es la menor llave
+     * que se puede agregar
+     * @return la ultima llave eliminada
+     */
+    public long getUltimaClave(){
+        return ultima;
+    }//FIN DE GETULTIMACLAVE
+
+    //Si la cubeta 0 esta vacia, toma la primera cubeta con registros, mueve
+    //la ultima llave a su minimo y reparte sus registros en cubetas menores
+    private void llenaCubetaCero(){
+        if(tamawos[0] > 0){
+            return;
+        }
+        int i = 1;
+        while(tamawos[i] == 0){
+            i++;
+        }
+        long[] cl = claves[i];
+        long[] ca = cargas[i];
+        int n = tamawos[i];
+        long minimo = cl[0];
+        for(int j = 1; j < n; j++){
+            if(cl[j] < minimo){
+                minimo = cl[j];
+            }
+        }
+        ultima = minimo;
+        tamawos[i] = 0;
+        for(int j = 0; j < n; j++){
+            mete(cubeta(cl[j]), cl[j], ca[j]);
+        }
+    }//FIN DE LLENACUBETACERO
+
+    //Regresa la cubeta de una llave: 0 si es igual a la ultima, o la posicion
+    //mas uno del bit mas alto en el que difieren
+    private int cubeta(long clave){
+        return 64 - Long.numberOfLeadingZeros(clave ^ ultima);
+    }//FIN DE CUBETA
+
+    //Agrega un registro al final de una cubeta
+    private void mete(int c, long clave, long carga){
+        int n = tamawos[c];
+        if(claves[c] == null){
+            claves[c] = new long[CAPACIDAD_CUBETA];
+            cargas[c] = new long[CAPACIDAD_CUBETA];
+        }
+        else if(n == claves[c].length){
+            long[] cl = new long[n * 2];
+            long[] ca = new long[n * 2];
+            System.arraycopy(claves[c], 0, cl, 0, n);
+            System.arraycopy(cargas[c], 0, ca, 0, n);
+            claves[c] = cl;
+            cargas[c] = ca;
+        }
+        claves[c][n] = clave;
+        cargas[c][n] = carga;
+        tamawos[c] = n + 1;
+    }//FIN DE METE
+
+    public int size(){
+        return elementos;
+    }//FIN DE SIZE
+
+    public boolean isEmpty(){
+        return elementos == 0;
+    }//FIN DE ISEMPTY
+
+    /**
+     * Vacia el monticulo. La ultima llave eliminada no cambia, asi que las
+     * llaves nuevas deben seguir siendo mayores o iguales a ella.
+     */
+    public void empty(){
+        for(int c = 0; c < CUBETAS; c++){
+            tamawos[c] = 0;
+        }
+        elementos = 0;
+    }//FIN DE EMPTY
+
+    @Override public String toString(){
+        StringBuilder resultado = new StringBuilder();
+        for(int c = 0; c < CUBETAS; c++){
+            for(int j = 0; j < tamawos[c]; j++){
+                resultado.append("(").append(claves[c][j]).append(" ").append(cargas[c][j]).append("),");
+            }
+        }
+        return resultado.toString();
+    }//FIN DE TOSTRING
+
+}
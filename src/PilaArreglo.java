@@ -0,0 +1,52 @@
+package src.edd;
+
+/**
+ * Clase para pilas guardadas en un arreglo. El tope es la cabeza: push, pop y
+ * peek trabajan sobre el, como en Pila, pero sin crear un nodo por elemento.
+ * peek2 regresa el fondo, y con agregaFinal y popFinal tambien se puede
+ * agregar y sacar por el fondo.
+ */
+public class PilaArreglo<T> extends PushPopArreglo<T> {
+
+    public PilaArreglo(){
+        super();
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la capacidad inicial
+     * @param capacidad La capacidad inicial
+     */
+    public PilaArreglo(int capacidad){
+        super(capacidad);
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Metodo que agrega un elemento en el tope
+     * @param elemento
+     */
+    @Override public void push(T elemento){
+        agregaInicio(elemento);
+    }//FIN DE PUSH
+
+    /**
+     * Regresa un clon de la estructura.
+     * 
+     * @return un clon de la estructura.
+     */
+    @Override public PilaArreglo<T> clone(){
+        PilaArreglo<T> nueva = new PilaArreglo<T>(Math.max(longi, 1));
+        for(int i = 0; i < longi; i++){
+            nueva.agregaFinal(elemento(i));
+        }
+        return nueva;
+    }//FIN DE CLONE
+
+    /**
+     * Metodo para imprimir una pila, del fondo al tope como Pila
+     * @return String
+     */
+    @Override public String toString(){
+        return cadena(false);
+    }//FIN DE TOSTRING
+
+}
@@ -1,7 +1,13 @@
 package src.edd;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.NoSuchElementException;
 
 import src.edd.Pokemon;
 
@@ -101,6 +107,138 @@ public class PruebaMonti{
         MonticuloMaximo<Pokemon> monticulo3 = new MonticuloMaximo<Pokemon>(monticulo2);
         System.out.println("Monticulo maximo: "+monticulo3);
 
+        System.out.println("\n"+azul+"**Prueba monticulos vacios de aridad 4**"+reset);
+        MonticuloMinimo<Pokemon> vacio4 = new MonticuloMinimo<Pokemon>(new Lista<Pokemon>(), 0, 4);
+        System.out.println("Size "+vacio4.size());//debe dar 0
+        vacio4.reordena(Comparator.reverseOrder());
+        vacio4.add(poke2);
+        System.out.println("Monticulo: "+vacio4);
+        MonticuloMaximo<Pokemon> maxVacio = new MonticuloMaximo<Pokemon>(new MonticuloMinimo<Pokemon>(4));
+        System.out.println("Minimo vacio convertido a maximo, size "+maxVacio.size());//debe dar 0
+        MonticuloMinimo<Pokemon> minVacio = new MonticuloMinimo<Pokemon>(new MonticuloMaximo<Pokemon>(4));
+        System.out.println("Maximo vacio convertido a minimo, size "+minVacio.size());//debe dar 0
+
+        System.out.println("\n"+azul+"**Prueba reemplazaRaiz con un elemento que ya esta**"+reset);
+        MonticuloMinimo<Pokemon> reemplazo = new MonticuloMinimo<Pokemon>();
+        reemplazo.add(poke1);
+        reemplazo.add(poke2);
+        reemplazo.add(poke3);
+        try {
+            reemplazo.reemplazaRaiz(poke3);
+            System.out.println("No se rechazo el elemento");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Se rechaza: "+e.getMessage());
+        }
+        System.out.println("Monticulo: "+reemplazo+" size "+reemplazo.size());//debe seguir con 3 elementos
+
+        System.out.println("\n"+azul+"**Prueba top 3 con SelectorTopK**"+reset);
+        SelectorTopK<Integer> top = SelectorTopK.mayores(3, Comparator.naturalOrder());
+        top.addAll(enteros);
+        System.out.println("Los 3 mayores: "+top);//debe dar 30, 21, 19
+
+        System.out.println("\n"+azul+"**Prueba vertices de otro monticulo de emparejamiento**"+reset);
+        MonticuloEmparejamiento<Integer> emp1 = new MonticuloEmparejamiento<Integer>(Comparator.naturalOrder());
+        MonticuloEmparejamiento<Integer> emp2 = new MonticuloEmparejamiento<Integer>(Comparator.naturalOrder());
+        emp1.inserta(5);
+        MonticuloEmparejamiento.Vertice<Integer> ajeno = emp2.inserta(7);
+        try {
+            emp1.delete(ajeno);
+            System.out.println("No se rechazo el vertice");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Se rechaza: "+e.getMessage());
+        }
+        emp1.meld(emp2);
+        emp1.decreaseKey(ajeno, 1);//despues de mezclar el vertice ya es de emp1
+        System.out.println("Minimo: "+emp1.peek()+" size "+emp1.size()+" y "+emp2.size());//debe dar 1, 2 y 0
+
+        System.out.println("\n"+azul+"**Prueba capacidad reservada**"+reset);
+        MonticuloMinimo<Pokemon> reservado = new MonticuloMinimo<Pokemon>(2, 10);
+        reservado.aseguraCapacidad(1000);
+        reservado.add(poke1);
+        reservado.add(poke2);
+        reservado.delete();
+        System.out.println("Capacidad despues de eliminar: "+reservado.capacidad());//debe dar 1000
+        reservado.recortaCapacidad();
+        System.out.println("Capacidad despues de recortar: "+reservado.capacidad());//debe dar 10
+
+        System.out.println("\n"+azul+"**Prueba monticulo directo guardado en archivo**"+reset);
+        try {
+            Path archivo = Files.createTempFile("monticulo", ".dat");
+            Files.delete(archivo);
+            try (MonticuloMinimoDirecto directo = new MonticuloMinimoDirecto(archivo)) {
+                directo.add(30, 1);
+                directo.add(5, 2);
+                directo.add(21, 3);
+            }
+            try (MonticuloMinimoDirecto directo = new MonticuloMinimoDirecto(archivo)) {
+                System.out.println("Al reabrir, size "+directo.size()+" minimo "+directo.peekClave());//debe dar 3 y 5
+            }
+            Files.write(archivo, new byte[64]);
+            try (MonticuloMinimoDirecto directo = new MonticuloMinimoDirecto(archivo)) {
+                System.out.println("No se rechazo el archivo, size "+directo.size());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Se rechaza: "+e.getMessage());
+            }
+            //Encabezado valido que dice tener 5 registros en un archivo sin registros
+            ByteBuffer truncado = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            truncado.putLong(0x4d6f6e7469637531L).putLong(5);
+            Files.write(archivo, truncado.array());
+            try (MonticuloMinimoDirecto directo = new MonticuloMinimoDirecto(archivo)) {
+                System.out.println("No se rechazo el archivo, size "+directo.size());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Se rechaza: "+e.getMessage());
+            }
+            Files.delete(archivo);
+        } catch (IOException e) {
+            System.out.println("No se pudo usar el archivo temporal: "+e.getMessage());
+        }
+
+        System.out.println("\n"+azul+"**Prueba monticulos de primitivos**"+reset);
+        long[] plazos={30, 5, 21, 8, 2, 19};
+        MonticuloMinimoLong montLong = new MonticuloMinimoLong(plazos);
+        System.out.println("Monticulo minimo de long: "+montLong);
+        System.out.println("Eliminamos el minimo: "+montLong.delete());//debe dar 2
+        MonticuloMaximoInt montInt = new MonticuloMaximoInt();
+        for (long plazo : plazos) {
+            montInt.add((int)plazo);
+        }
+        System.out.println("Eliminamos el maximo: "+montInt.delete());//debe dar 30
+        System.out.println("El nuevo maximo es: "+montInt.peek());//debe dar 21
+        montInt.add(Integer.MIN_VALUE);
+        montInt.add(Integer.MAX_VALUE);
+        System.out.println("Con los extremos de int, el maximo es: "+montInt.peek());//debe dar 2147483647
+        montInt.empty();
+        try {
+            montInt.peek();
+        } catch (NoSuchElementException e) {
+            System.out.println("Se rechaza: "+e.getMessage());
+        }
+
+        System.out.println("\n"+azul+"**Prueba heapSort sobre el mismo arreglo**"+reset);
+        int[] numeros={19, 2, 30, 8, 21, 5, 7, 3};
+        MonticuloMinimo.heapSort(numeros);
+        System.out.println("Arreglo ordenado: "+Arrays.toString(numeros));
+        Pokemon[] pokemones={poke3, poke2, poke1, poke4, poke5};
+        MonticuloMinimo.heapSort(pokemones, Comparator.reverseOrder());
+        System.out.println("Pokemon en orden inverso: "+Arrays.toString(pokemones));
+
+        System.out.println("\n"+azul+"**Prueba monticulo min-max**"+reset);
+        MonticuloMinMax<Integer> minMax = new MonticuloMinMax<Integer>(Comparator.naturalOrder());
+        for (int numero : numeros) {
+            minMax.add(numero);
+        }
+        System.out.println("Minimo: "+minMax.peekMin()+" maximo: "+minMax.peekMax());//debe dar 2 y 30
+        System.out.println("Eliminamos el maximo: "+minMax.deleteMax()+" y el minimo: "+minMax.deleteMin());
+        System.out.println("Size "+minMax.size());
+
+        System.out.println("\n"+azul+"**Prueba mediana movil**"+reset);
+        MedianaMovil mediana = new MedianaMovil(4);
+        for (int numero : numeros) {
+            mediana.add(numero);
+        }
+        //numeros ya esta ordenado, la ventana tiene 8, 19, 21 y 30
+        System.out.println("Mediana de los ultimos 4: "+mediana.mediana());//debe dar 20
+
     }
 
 
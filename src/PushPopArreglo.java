@@ -0,0 +1,194 @@
+package src.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase para estructuras PushPop guardadas en un arreglo circular que crece
+ * al llenarse. A diferencia de Cola y Pila, agregar o sacar un elemento no
+ * crea ningun objeto. Los elementos se pueden agregar y sacar por los dos
+ * extremos: la cabeza es la que regresan pop() y peek(), y el final es el
+ * que regresa peek2().
+ */
+public abstract class PushPopArreglo<T> extends PushPop<T> {
+
+    /* Capacidad del arreglo cuando no se indica otra */
+    protected static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los elementos, desde la cabeza y dando la vuelta al final del arreglo */
+    protected T[] arreglo;
+    /* La posicion de la cabeza en el arreglo */
+    protected int inicio;
+
+    /**
+     * Constructor con la capacidad inicial por omision
+     */
+    public PushPopArreglo(){
+        this(CAPACIDAD_INICIAL);
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la capacidad inicial del arreglo. La capacidad
+     * se redondea a una potencia de 2.
+     * @param capacidad La capacidad inicial
+     * @throws IllegalArgumentException si la capacidad es menor a 1 o mayor a 2^30
+     */
+    @SuppressWarnings("unchecked")
+    public PushPopArreglo(int capacidad){
+        if(capacidad < 1 || capacidad > 1 << 30){
+            throw new IllegalArgumentException("Capacidad no valida");
+        }
+        arreglo = (T[])new Object[Integer.highestOneBit(capacidad * 2 - 1)];
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Agrega un elemento antes de la cabeza
+     * @param elemento El elemento
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public void agregaInicio(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("");
+        }
+        if(longi == arreglo.length){
+            crece();
+        }
+        inicio = (inicio - 1) & (arreglo.length - 1);
+        arreglo[inicio] = elemento;
+        longi++;
+    }//FIN DE AGREGAINICIO
+
+    /**
+     * Agrega un elemento despues del final
+     * @param elemento El elemento
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    public void agregaFinal(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("");
+        }
+        if(longi == arreglo.length){
+            crece();
+        }
+        arreglo[(inicio + longi) & (arreglo.length - 1)] = elemento;
+        longi++;
+    }//FIN DE AGREGAFINAL
+
+    /**
+     * Saca el elemento de la cabeza
+     * @return el elemento
+     * @throws NoSuchElementException si la estructura es vacia
+     */
+    @Override public T pop(){
+        if(longi == 0){
+            throw new NoSuchElementException("");
+        }
+        T valor = arreglo[inicio];
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        longi--;
+        return valor;
+    }//FIN DE POP
+
+    /**
+     * Saca el elemento del final
+     * @return el elemento
+     * @throws NoSuchElementException si la estructura es vacia
+     */
+    public T popFinal(){
+        if(longi == 0){
+            throw new NoSuchElementException("");
+        }
+        int i = (inicio + longi - 1) & (arreglo.length - 1);
+        T valor = arreglo[i];
+        arreglo[i] = null;
+        longi--;
+        return valor;
+    }//FIN DE POPFINAL
+
+    /**
+     * Regresa el elemento de la cabeza
+     * @return el elemento
+     */
+    @Override public T peek(){
+        if(longi == 0){
+            throw new NoSuchElementException("");
+        }
+        return arreglo[inicio];
+    }//FIN DE PEEK
+
+    /**
+     * Regresa el elemento del final
+     * @return el elemento
+     */
+    @Override public T peek2(){
+        if(longi == 0){
+            throw new NoSuchElementException("");
+        }
+        return arreglo[(inicio + longi - 1) & (arreglo.length - 1)];
+    }//FIN DE PEEK2
+
+    //Regresa el elemento i contando desde la cabeza
+    protected T elemento(int i){
+        return arreglo[(inicio + i) & (arreglo.length - 1)];
+    }//FIN DE ELEMENTO
+
+    //Duplica el arreglo y deja la cabeza en la posicion 0
+    @SuppressWarnings("unchecked")
+    private void crece(){
+        if(arreglo.length == 1 << 30){
+            throw new IllegalStateException("La estructura esta llena");
+        }
+        T[] nuevo = (T[])new Object[arreglo.length * 2];
+        int primeros = Math.min(longi, arreglo.length - inicio);
+        System.arraycopy(arreglo, inicio, nuevo, 0, primeros);
+        System.arraycopy(arreglo, 0, nuevo, primeros, longi - primeros);
+        arreglo = nuevo;
+        inicio = 0;
+    }//FIN DE CRECE
+
+    @Override public int size(){
+        return longi;
+    }//FIN DE SIZE
+
+    /**
+     * Vacia la estructura. El arreglo conserva su capacidad.
+     */
+    @Override public void empty(){
+        for(int i = 0; i < longi; i++){
+            arreglo[(inicio + i) & (arreglo.length - 1)] = null;
+        }
+        inicio = 0;
+        longi = 0;
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return longi == 0;
+    }//FIN DE ISEMPTY
+
+    //Regresa los elementos desde la cabeza o desde el final, separados por comas
+    protected String cadena(boolean desdeCabeza){
+        String regreso = "";
+        for(int i = 0; i < longi; i++){
+            T e = desdeCabeza ? elemento(i) : elemento(longi - 1 - i);
+            regreso += i == 0 ? e.toString() : ", " + e.toString();
+        }
+        return regreso;
+    }//FIN DE CADENA
+
+    @Override public boolean equals(Object o){
+        if(o == null || this.getClass() != o.getClass()){
+            return false;
+        }
+        @SuppressWarnings("unchecked") PushPopArreglo<T> pp = (PushPopArreglo<T>)o;
+        if(this.longi != pp.longi){
+            return false;
+        }
+        for(int i = 0; i < longi; i++){
+            if(!elemento(i).equals(pp.elemento(i))){
+                return false;
+            }
+        }
+        return true;
+    }//FIN DE EQUALS
+
+}
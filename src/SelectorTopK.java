@@ -0,0 +1,289 @@
+package src.edd;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+/**
+ * Clase para quedarse con los k mejores elementos de un flujo, usando a lo mas
+ * O(k) memoria. Los elementos se guardan en un Monticulo cuya raiz es
+ * el peor de los que se conservan: si un elemento nuevo no es mejor que la
+ * raiz se descarta con una sola comparacion, y si es mejor toma el lugar de
+ * la raiz con reemplazaRaiz, que hace un solo recorrido hacia abajo.
+ */
+public class SelectorTopK<T> implements Collection<T> {
+
+    /**
+     * Clase para guardar los elementos en el monticulo. Cuando ya hay k
+     * elementos las entradas se reutilizan, asi que no se crean objetos. El
+     * monticulo las ordena con el comparador del selector, asi que las
+     * entradas no lo guardan.
+     */
+    private static final class Entrada<T> implements ComparableIndexable<Entrada<T>> {
+        /* El elemento guardado */
+        private T elemento;
+        /* El indice en el monticulo */
+        private int indice;
+
+        private Entrada(T elemento){
+            this.elemento = elemento;
+            this.indice = -1;
+        }
+
+        @Override public int compareTo(Entrada<T> entrada){
+            throw new UnsupportedOperationException("Las entradas se comparan con el comparador del selector");
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE ENTRADA
+
+    /**
+     * Clase para iteradores del selector, recorre los elementos en el orden
+     * del monticulo
+     */
+    private class Iterador implements Iterator<T>{
+
+        private final Iterator<Entrada<T>> entradas = monticulo.iterator();
+
+        @Override public boolean hasNext(){
+            return entradas.hasNext();
+        }
+
+        @Override public T next(){
+            return entradas.next().elemento;
+        }
+    }//FIN DE CLASE ITERADOR
+
+    /* El numero de elementos que se conservan */
+    private final int k;
+    /* El monticulo de los elementos conservados, la raiz es el peor */
+    private final Monticulo<Entrada<T>> monticulo;
+    /* El comparador, los mejores elementos son los mayores */
+    private final Comparator<? super T> comparador;
+    /* La entrada que sale del monticulo en el ultimo reemplazo, para reutilizarla */
+    private Entrada<T> libre;
+
+    /**
+     * Constructor que recibe k y el comparador. Se conservan los k elementos
+     * mayores segun el comparador.
+     * @param k El numero de elementos a conservar
+     * @param comparador El comparador
+     * @throws IllegalArgumentException si k es menor a 1 o el comparador es null
+     */
+    public SelectorTopK(int k, Comparator<? super T> comparador){
+        if(k < 1){
+            throw new IllegalArgumentException("k debe ser al menos 1");
+        }
+        this.k = k;
+        this.comparador = verificaComparador(comparador);
+        this.monticulo = new Monticulo<Entrada<T>>((a, b) -> comparador.compare(a.elemento, b.elemento), 2, k);
+    }//FIN DE CONSTRUCTOR
+
+    //Metodo para validar el comparador recibido
+    private static <T> Comparator<T> verificaComparador(Comparator<T> comparador){
+        if(comparador == null){
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        return comparador;
+    }//FIN DE VERIFICACOMPARADOR
+
+    /**
+     * Regresa un selector de los k elementos mayores
+     * @param k El numero de elementos a conservar
+     * @param comparador El comparador
+     * @return el selector
+     */
+    public static <T> SelectorTopK<T> mayores(int k, Comparator<? super T> comparador){
+        return new SelectorTopK<T>(k, comparador);
+    }//FIN DE MAYORES
+
+    /**
+     * Regresa un selector de los k elementos menores
+     * @param k El numero de elementos a conservar
+     * @param comparador El comparador
+     * @return el selector
+     */
+    public static <T> SelectorTopK<T> menores(int k, Comparator<? super T> comparador){
+        return new SelectorTopK<T>(k, verificaComparador(comparador).reversed());
+    }//FIN DE MENORES
+
+    /**
+     * Regresa un Collector para usar el selector con java.util.stream. El
+     * resultado es una lista con los k elementos mayores, del mejor al peor.
+     * @param k El numero de elementos a conservar
+     * @param comparador El comparador
+     * @return el collector
+     */
+    public static <T> Collector<T, ?, Lista<T>> coleccionaMayores(int k, Comparator<? super T> comparador){
+        verificaComparador(comparador);
+        return Collector.of(() -> new SelectorTopK<T>(k, comparador),
+                            SelectorTopK::add,
+                            SelectorTopK::combina,
+                            SelectorTopK::resultado);
+    }//FIN DE COLECCIONAMAYORES
+
+    /**
+     * Regresa un Collector para usar el selector con java.util.stream. El
+     * resultado es una lista con los k elementos menores, del mejor al peor.
+     * @param k El numero de elementos a conservar
+     * @param comparador El comparador
+     * @return el collector
+     */
+    public static <T> Collector<T, ?, Lista<T>> coleccionaMenores(int k, Comparator<? super T> comparador){
+        return coleccionaMayores(k, verificaComparador(comparador).reversed());
+    }//FIN DE COLECCIONAMENORES
+
+    /**
+     * Ofrece un elemento al selector. Si ya hay k elementos y el nuevo no es
+     * mejor que el peor de ellos, se descarta.
+     * @param elemento El elemento
+     * @throws IllegalArgumentException si el elemento es null
+     */
+    @Override public void add(T elemento){
+        if(elemento == null){
+            throw new IllegalArgumentException("El elemento no puede ser null");
+        }
+        if(monticulo.size() < k){
+            monticulo.add(new Entrada<T>(elemento));
+        }
+        else if(comparador.compare(elemento, monticulo.get(0).elemento) > 0){
+            if(libre == null){
+                libre = new Entrada<T>(elemento);
+            }
+            libre.elemento = elemento;
+            Entrada<T> raiz = monticulo.reemplazaRaiz(libre);
+            raiz.elemento = null;
+            libre = raiz;
+        }
+    }//FIN DE ADD
+
+    /**
+     * Ofrece todos los elementos de un iterable
+     * @param iterable Los elementos
+     */
+    public void addAll(Iterable<? extends T> iterable){
+        addAll(iterable.iterator());
+    }//FIN DE ADDALL(ITERABLE)
+
+    /**
+     * Ofrece todos los elementos que quedan en un iterador
+     * @param iterador Los elementos
+     */
+    public void addAll(Iterator<? extends T> iterador){
+        while(iterador.hasNext()){
+            add(iterador.next());
+        }
+    }//FIN DE ADDALL(ITERADOR)
+
+    /**
+     * Agrega los elementos de otro selector a este
+     * @param otro El otro selector
+     * @return este selector
+     */
+    public SelectorTopK<T> combina(SelectorTopK<T> otro){
+        for(Entrada<T> entrada : otro.monticulo){
+            add(entrada.elemento);
+        }
+        return this;
+    }//FIN DE COMBINA
+
+    /**
+     * Regresa el peor de los elementos conservados, que es el que un elemento
+     * nuevo tiene que superar cuando ya hay k elementos
+     * @return el peor elemento conservado
+     * @throws NoSuchElementException si no hay elementos
+     */
+    public T umbral(){
+        if(monticulo.isEmpty()){
+            throw new NoSuchElementException("No hay elementos");
+        }
+        return monticulo.get(0).elemento;
+    }//FIN DE UMBRAL
+
+    /**
+     * Regresa una lista con los elementos conservados, del mejor al peor. El
+     * selector no se modifica.
+     * @return la lista de elementos
+     */
+    public Lista<T> resultado(){
+        @SuppressWarnings("unchecked") T[] copia = (T[])new Object[monticulo.size()];
+        int i = 0;
+        for(Entrada<T> entrada : monticulo){
+            copia[i++] = entrada.elemento;
+        }
+        MonticuloMinimo.heapSort(copia, comparador.reversed());
+        Lista<T> lista = new Lista<T>();
+        for(T e : copia){
+            lista.add(e);
+        }
+        return lista;
+    }//FIN DE RESULTADO
+
+    /**
+     * Regresa el numero de elementos que se pueden conservar
+     * @return k
+     */
+    public int getK(){
+        return k;
+    }//FIN DE GETK
+
+    @Override public int size(){
+        return monticulo.size();
+    }//FIN DE SIZE
+
+    @Override public boolean contains(T elemento){
+        for(Entrada<T> entrada : monticulo){
+            if(entrada.elemento.equals(elemento)){
+                return true;
+            }
+        }
+        return false;
+    }//FIN DE CONTAINS
+
+    @Override public void empty(){
+        monticulo.empty();
+    }//FIN DE EMPTY
+
+    @Override public boolean isEmpty(){
+        return monticulo.isEmpty();
+    }//FIN DE ISEMPTY
+
+    @Override public String toString(){
+        return resultado().toString();
+    }//FIN DE TOSTRING
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj==null || getClass() != obj.getClass()){
+            return false;
+        }
+        @SuppressWarnings("unchecked") SelectorTopK<T> selector = (SelectorTopK<T>)obj;
+        return k == selector.k && resultado().equals(selector.resultado());
+    }//FIN DE EQUALS
+
+    @Override
+    public int hashCode() {
+        int hash = k;
+        for(T e : resultado()){
+            hash = 31 * hash + e.hashCode();
+        }
+        return hash;
+    }//FIN DE HASHCODE
+
+    /**
+     * Regresa un iterador sobre los elementos conservados, sin un orden
+     * particular
+     * @return el iterador
+     */
+    @Override public Iterator<T> iterator(){
+        return new Iterador();
+    }//FIN DE ITERATOR
+
+}
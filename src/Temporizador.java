@@ -0,0 +1,333 @@
+package src.edd;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Clase para programar tareas que se ejecutan despues de un retraso. Las
+ * tareas pendientes se guardan en un MonticuloMinimo ordenado por plazo, asi
+ * que programar, cancelar y reprogramar cuestan O(log n) usando el indice de
+ * cada tarea.
+ *
+ * El tiempo se divide en ticks: el plazo de cada tarea se redondea hacia
+ * arriba al siguiente tick y un solo hilo despachador saca juntas todas las
+ * tareas que vencen en el mismo tick, con una sola toma del candado, antes de
+ * pasarlas al ejecutor.
+ */
+public class Temporizador implements AutoCloseable {
+
+    /**
+     * Clase para las tareas programadas
+     */
+    public static final class Tarea implements ComparableIndexable<Tarea> {
+        /* La accion que se ejecuta al vencer el plazo */
+        private final Runnable accion;
+        /* El temporizador de la tarea */
+        private final Temporizador temporizador;
+        /* El tick en el que vence la tarea */
+        private long tick;
+        /* Orden de llegada, para desempatar tareas del mismo tick */
+        private long secuencia;
+        /* El indice en el monticulo */
+        private int indice;
+
+        private Tarea(Temporizador temporizador, Runnable accion){
+            this.temporizador = temporizador;
+            this.accion = accion;
+            this.indice = -1;
+        }
+
+        /**
+         * Regresa el retraso que le falta a la tarea para vencer
+         * @param unidad La unidad del resultado
+         * @return el retraso, negativo si ya vencio
+         */
+        public long getRetraso(TimeUnit unidad){
+            long nanos = tick * temporizador.nanosTick - (System.nanoTime() - temporizador.origen);
+            return unidad.convert(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Nos dice si la tarea sigue esperando su plazo
+         * @return true si no ha vencido ni se ha cancelado
+         */
+        public boolean isPendiente(){
+            temporizador.candado.lock();
+            try{
+                return temporizador.pendientes.contains(this);
+            }
+            finally{
+                temporizador.candado.unlock();
+            }
+        }
+
+        @Override public int compareTo(Tarea tarea){
+            if(tick != tarea.tick){
+                return Long.compare(tick, tarea.tick);
+            }
+            return Long.compare(secuencia, tarea.secuencia);
+        }
+
+        @Override public int getIndice(){
+            return indice;
+        }
+
+        @Override public void setIndice(int indice){
+            this.indice = indice;
+        }
+    }//FIN DE CLASE TAREA
+
+    /* El mayor retraso que se respeta, unos 73 awos */
+    private static final long RETRASO_MAXIMO = Long.MAX_VALUE / 4;
+
+    /* Las tareas pendientes ordenadas por plazo */
+    private final MonticuloMinimo<Tarea> pendientes;
+    /* Protege al monticulo y al contador de secuencia */
+    private final ReentrantLock candado;
+    /* Despierta al despachador cuando cambia la primera tarea */
+    private final Condition cambio;
+    /* Donde se ejecutan las tareas vencidas */
+    private final Executor ejecutor;
+    /* Duracion de un tick en nanosegundos */
+    private final long nanosTick;
+    /* El instante en que se creo el temporizador, el tick 0 */
+    private final long origen;
+    /* El hilo que saca las tareas vencidas */
+    private final Thread despachador;
+    /* Numero de tareas programadas, para desempatar */
+    private long secuencia;
+    /* Si el temporizador ya se cerro */
+    private volatile boolean cerrado;
+
+    /**
+     * Constructor con ticks de un milisegundo que ejecuta las tareas en el
+     * ForkJoinPool comun
+     */
+    public Temporizador(){
+        this(1, TimeUnit.MILLISECONDS, ForkJoinPool.commonPool());
+    }//FIN DE CONSTRUCTOR 1
+
+    /**
+     * Constructor que recibe la duracion del tick y el ejecutor de las tareas.
+     * Puede ser cualquier Executor, por ejemplo uno de hilos virtuales en las
+     * versiones de Java que los tienen, o Runnable::run para ejecutar las
+     * tareas en el mismo hilo despachador.
+     * @param tick La duracion de un tick
+     * @param unidad La unidad del tick
+     * @param ejecutor El ejecutor de las tareas
+     * @throws IllegalArgumentException si el tick no es positivo o el ejecutor es null
+     */
+    public Temporizador(long tick, TimeUnit unidad, Executor ejecutor){
+        if(tick <= 0){
+            throw new IllegalArgumentException("El tick debe ser positivo");
+        }
+        if(ejecutor == null){
+            throw new IllegalArgumentException("El ejecutor no puede ser null");
+        }
+        this.nanosTick = unidad.toNanos(tick);
+        this.ejecutor = ejecutor;
+        this.pendientes = new MonticuloMinimo<Tarea>();
+        this.candado = new ReentrantLock();
+        this.cambio = candado.newCondition();
+        this.origen = System.nanoTime();
+        this.despachador = new Thread(this::despacha, "Temporizador");
+        despachador.setDaemon(true);
+        despachador.start();
+    }//FIN DE CONSTRUCTOR 2
+
+    /**
+     * Programa una accion para ejecutarse despues de un retraso
+     * @param accion La accion
+     * @param retraso El retraso
+     * @param unidad La unidad del retraso
+     * @return la tarea, para cancelarla o reprogramarla
+     * @throws IllegalArgumentException si la accion es null
+     * @throws IllegalStateException si el temporizador ya se cerro
+     */
+    public Tarea programa(Runnable accion, long retraso, TimeUnit unidad){
+        if(accion == null){
+            throw new IllegalArgumentException("La accion no puede ser null");
+        }
+        Tarea tarea = new Tarea(this, accion);
+        candado.lock();
+        try{
+            verificaAbierto();
+            tarea.tick = tickDe(unidad.toNanos(retraso));
+            tarea.secuencia = secuencia++;
+            pendientes.add(tarea);
+            avisaSiEsPrimera(tarea);
+        }
+        finally{
+            candado.unlock();
+        }
+        return tarea;
+    }//FIN DE PROGRAMA
+
+    /**
+     * Cancela una tarea pendiente en O(log n)
+     * @param tarea La tarea
+     * @return true si la tarea estaba pendiente y ya no se ejecutara
+     */
+    public boolean cancela(Tarea tarea){
+        if(tarea == null || tarea.temporizador != this){
+            return false;
+        }
+        candado.lock();
+        try{
+            //No hace falta avisar al despachador: si era la primera, solo despierta antes
+            return pendientes.delete(tarea);
+        }
+        finally{
+            candado.unlock();
+        }
+    }//FIN DE CANCELA
+
+    /**
+     * Cambia el plazo de una tarea a un nuevo retraso contado desde ahora, en
+     * O(log n). Si la tarea ya vencio o se cancelo, se vuelve a programar.
+     * @param tarea La tarea
+     * @param retraso El nuevo retraso
+     * @param unidad La unidad del retraso
+     * @throws IllegalArgumentException si la tarea es de otro temporizador
+     * @throws IllegalStateException si el temporizador ya se cerro
+     */
+    public void reprograma(Tarea tarea, long retraso, TimeUnit unidad){
+        if(tarea == null || tarea.temporizador != this){
+            throw new IllegalArgumentException("La tarea no es de este temporizador");
+        }
+        candado.lock();
+        try{
+            verificaAbierto();
+            tarea.tick = tickDe(unidad.toNanos(retraso));
+            tarea.secuencia = secuencia++;
+            if(pendientes.contains(tarea)){
+                pendientes.actualiza(tarea);
+            }
+            else{
+                pendientes.add(tarea);
+            }
+            avisaSiEsPrimera(tarea);
+        }
+        finally{
+            candado.unlock();
+        }
+    }//FIN DE REPROGRAMA
+
+    /**
+     * Regresa el numero de tareas pendientes
+     * @return el numero de tareas
+     */
+    public int size(){
+        candado.lock();
+        try{
+            return pendientes.size();
+        }
+        finally{
+            candado.unlock();
+        }
+    }//FIN DE SIZE
+
+    /**
+     * Detiene al despachador y descarta las tareas pendientes. Las tareas que
+     * ya se pasaron al ejecutor no se detienen.
+     */
+    @Override public void close(){
+        candado.lock();
+        try{
+            if(cerrado){
+                return;
+            }
+            cerrado = true;
+            pendientes.empty();
+            cambio.signal();
+        }
+        finally{
+            candado.unlock();
+        }
+        if(Thread.currentThread() != despachador){
+            try{
+                despachador.join();
+            }
+            catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }//FIN DE CLOSE
+
+    //Ciclo del hilo despachador: espera al primer plazo y saca el lote de su tick
+    private void despacha(){
+        ArrayList<Tarea> lote = new ArrayList<Tarea>();
+        while(true){
+            candado.lock();
+            try{
+                while(!cerrado){
+                    if(pendientes.isEmpty()){
+                        cambio.awaitUninterruptibly();
+                        continue;
+                    }
+                    long espera = pendientes.get(0).tick * nanosTick - (System.nanoTime() - origen);
+                    if(espera <= 0){
+                        break;
+                    }
+                    cambio.awaitNanos(espera);
+                }
+                if(cerrado){
+                    return;
+                }
+                //Todas las tareas de los ticks que ya pasaron salen juntas
+                long actual = tickActual();
+                while(!pendientes.isEmpty() && pendientes.get(0).tick <= actual){
+                    lote.add(pendientes.delete());
+                }
+            }
+            catch(InterruptedException e){
+                //Solo se sale con close()
+                continue;
+            }
+            finally{
+                candado.unlock();
+            }
+            for(Tarea tarea : lote){
+                try{
+                    ejecutor.execute(tarea.accion);
+                }
+                catch(RuntimeException e){
+                    //Una tarea que falla o que el ejecutor rechaza no detiene al despachador
+                    despachador.getUncaughtExceptionHandler().uncaughtException(despachador, e);
+                }
+            }
+            lote.clear();
+        }
+    }//FIN DE DESPACHA
+
+    //Despierta al despachador si la tarea quedo en la raiz
+    private void avisaSiEsPrimera(Tarea tarea){
+        if(tarea.getIndice() == 0){
+            cambio.signal();
+        }
+    }//FIN DE AVISASIESPRIMERA
+
+    //Regresa el tick en el que vence un retraso contado desde ahora, redondeado hacia arriba.
+    //Los retrasos se acotan para que el plazo en nanosegundos no se desborde.
+    private long tickDe(long retraso){
+        long plazo = System.nanoTime() - origen + Math.min(Math.max(retraso, 0), RETRASO_MAXIMO);
+        return (plazo + nanosTick - 1) / nanosTick;
+    }//FIN DE TICKDE
+
+    //Regresa el tick que esta corriendo
+    private long tickActual(){
+        return (System.nanoTime() - origen) / nanosTick;
+    }//FIN DE TICKACTUAL
+
+    //Verifica que el temporizador no se haya cerrado
+    private void verificaAbierto(){
+        if(cerrado){
+            throw new IllegalStateException("El temporizador ya se cerro");
+        }
+    }//FIN DE VERIFICAABIERTO
+
+}